@@ -12,6 +12,9 @@ import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import com.example.demo.redis.ItemChangePublisher;
+import com.example.demo.redis.ItemChangeSubscriber;
+import com.example.demo.redis.NotificationPublisher;
 import com.example.demo.redis.RedisSubscriber;
 
 @Configuration
@@ -23,6 +26,9 @@ public class RedisConfig {
     @Value("${spring.redis.port}")
     private int redisPort;
 
+    @Value("${notification.node-id}")
+    private String nodeId;
+
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
         return new LettuceConnectionFactory(new RedisStandaloneConfiguration(redisHost, redisPort));
@@ -30,14 +36,23 @@ public class RedisConfig {
 
     @Bean
     public ChannelTopic topic() {
-        return new ChannelTopic("notification");
+        return new ChannelTopic(NotificationPublisher.BROADCAST_CHANNEL);
+    }
+
+    // 이 노드에 연결된 사용자에게 보내는 대상 알림 전용 채널
+    @Bean
+    public ChannelTopic nodeTopic() {
+        return new ChannelTopic(NotificationPublisher.nodeChannel(nodeId));
     }
 
     @Bean
-    public RedisMessageListenerContainer redisMessageListener(RedisConnectionFactory connectionFactory, RedisSubscriber subscriber) {
+    public RedisMessageListenerContainer redisMessageListener(RedisConnectionFactory connectionFactory, RedisSubscriber subscriber,
+                                                                ItemChangeSubscriber itemChangeSubscriber) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
         container.addMessageListener(subscriber, topic());
+        container.addMessageListener(subscriber, nodeTopic());
+        container.addMessageListener(itemChangeSubscriber, new ChannelTopic(ItemChangePublisher.CHANNEL));
         return container;
     }
 
@@ -29,7 +29,8 @@ public class SecurityConfig {
     };
 
     private static final String[] ADMIN_ENDPOINTS = {
-        "/api/admin/**"
+        "/api/admin/**",
+        "/api/notifications/send/bulk"
     };
 
     @Bean
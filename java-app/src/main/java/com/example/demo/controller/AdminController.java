@@ -3,12 +3,14 @@ package com.example.demo.controller;
 
 import com.example.demo.entity.Users;
 import com.example.demo.repository.UsersRepository;
+import com.example.demo.sse.SseConnectionRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -16,6 +18,7 @@ import java.util.List;
 public class AdminController {
 
     private final UsersRepository usersRepository;
+    private final SseConnectionRegistry connectionRegistry;
 
     @GetMapping("/dashboard")
     public String adminOnly() {
@@ -27,4 +30,12 @@ public class AdminController {
         return usersRepository.findAll();
     }
 
+    // 이 노드에 연결된 SSE 클라이언트 수를 반환합니다.
+    @GetMapping("/sse/connections")
+    public Map<String, Object> getSseConnections() {
+        return Map.of(
+                "nodeId", connectionRegistry.getNodeId(),
+                "connections", connectionRegistry.size());
+    }
+
 }
@@ -3,61 +3,116 @@ package com.example.demo.controller;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.example.demo.entity.Item;
-import com.example.demo.repository.ItemRepository;
+import com.example.demo.dto.ItemCursor;
 import com.example.demo.dto.ItemSearchRequestDto; // DTO 임포트
+import com.example.demo.dto.ItemSuggestionDto;
+import com.example.demo.dto.SliceResponseDto;
+import com.example.demo.service.ItemSearchService;
+import com.example.demo.service.ItemService;
+import com.example.demo.redis.ResourceVersions;
+import com.example.demo.web.VersionedResource;
 
-import java.util.Optional;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/items")
 public class ItemController {
 
     @Autowired
-    private ItemRepository itemRepository;
+    private ItemSearchService itemSearchService;
 
+    @Autowired
+    private ItemService itemService;
+
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MAX_SCROLL_SIZE = 100;
+
+    @VersionedResource(value = ResourceVersions.ITEMS, weak = true) // 전체 개수가 추정치
     @GetMapping
     public Page<Item> getAllItems(
             ItemSearchRequestDto searchDto, // DTO로 변경
             Pageable pageable) {
 
-        if (searchDto.getName() != null || searchDto.getDescription() != null) {
-            // name 또는 description 파라미터가 있으면 필터링
-            String searchName = Optional.ofNullable(searchDto.getName()).orElse("");
-            String searchDescription = Optional.ofNullable(searchDto.getDescription()).orElse("");
-            return itemRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
-                    searchName, searchDescription, pageable);
+        String keyword = searchDto.getKeyword();
+        if (keyword != null) {
+            // 검색어가 있으면 전문 검색 (이름, 설명)
+            return itemSearchService.search(keyword, pageable);
         } else {
-            // 파라미터가 없으면 모든 아이템 반환
-            return itemRepository.findAll(pageable);
+            // 파라미터가 없으면 모든 아이템 반환 (전체 개수는 추정치)
+            return itemService.getItems(pageable);
+        }
+    }
+
+    /**
+     * 아이템 목록을 커서 기반으로 조회합니다. OFFSET을 쓰지 않으므로 뒤쪽 페이지도 앞쪽 페이지와 같은 비용이며 전체 개수를 세지 않습니다.
+     * 응답의 nextCursor를 다음 요청의 cursor로 넘기면 이어서 조회합니다.
+     * @param cursor 이전 응답의 nextCursor (없으면 첫 페이지)
+     * @param sort 정렬 기준 (id, name), 첫 페이지에만 적용
+     * @param direction 정렬 방향 (asc, desc), 첫 페이지에만 적용
+     * @param size 페이지 크기 (최대 100)
+     * @return 아이템 목록과 다음 커서
+     */
+    @VersionedResource(ResourceVersions.ITEMS)
+    @GetMapping("/scroll")
+    public ResponseEntity<SliceResponseDto<Item>> scrollItems(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        ItemCursor position;
+        ItemCursor.SortKey sortKey;
+        try {
+            position = cursor == null || cursor.isBlank() ? null : ItemCursor.decode(cursor);
+            sortKey = position != null ? position.sort() : ItemCursor.sortKey(sort);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
+        boolean descending = position != null ? position.descending() : "desc".equalsIgnoreCase(direction);
+        int pageSize = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        return ResponseEntity.ok(SliceResponseDto.of(
+                itemService.scrollItems(position, sortKey, descending, pageSize),
+                item -> ItemCursor.after(item, sortKey, descending).encode()));
     }
 
+    /**
+     * 전체 아이템 수 (추정치, 목록 화면의 페이지 수 표시용)
+     */
+    @GetMapping("/count")
+    public long countItems() {
+        return itemService.countItems();
+    }
+
+    /**
+     * 자동 완성 검색 (입력할 때마다 호출)
+     */
+    @GetMapping("/suggest")
+    public List<ItemSuggestionDto> suggest(@RequestParam String q,
+                                           @RequestParam(defaultValue = "10") int limit) {
+        return itemSearchService.suggest(q, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    @VersionedResource(ResourceVersions.ITEMS)
     @GetMapping("/{id}")
     public Item getItemById(@PathVariable Long id) {
-        return itemRepository.findById(id).orElse(null);
+        return itemService.getItem(id);
     }
 
     @PostMapping
     public Item createItem(@RequestBody Item item) {
-        return itemRepository.save(item);
+        return itemService.createItem(item);
     }
 
     @PutMapping("/{id}")
     public Item updateItem(@PathVariable Long id, @RequestBody Item itemDetails) {
-        Item item = itemRepository.findById(id).orElse(null);
-        if (item != null) {
-            item.setName(itemDetails.getName());
-            item.setDescription(itemDetails.getDescription());
-            return itemRepository.save(item);
-        }
-        return null;
+        return itemService.updateItem(id, itemDetails);
     }
 
     @DeleteMapping("/{id}")
     public void deleteItem(@PathVariable Long id) {
-        itemRepository.deleteById(id);
+        itemService.deleteItem(id);
     }
 }
\ No newline at end of file
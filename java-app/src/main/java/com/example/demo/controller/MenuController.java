@@ -2,6 +2,7 @@ package com.example.demo.controller;
 
 import com.example.demo.entity.Menu;
 import com.example.demo.service.MenuService;
+import com.example.demo.web.ETags;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -35,6 +37,16 @@ public class MenuController {
         }
 
         List<Menu> menus = menuService.getAccessibleMenus(userRoles);
-        return ResponseEntity.ok(menus);
+        // 메뉴는 버전 컬럼이 없으므로 필드 값으로 ETag를 만듭니다. If-None-Match가 같으면 본문 없이 304로 응답합니다.
+        return ResponseEntity.ok().eTag(menuETag(menus)).body(menus);
+    }
+
+    private static String menuETag(List<Menu> menus) {
+        List<Object> fields = new ArrayList<>(menus.size() * 8);
+        for (Menu menu : menus) {
+            Collections.addAll(fields, menu.getId(), menu.getName(), menu.getPath(), menu.getIcon(),
+                    menu.getParentId(), menu.getMenuOrder(), menu.getRequiredRole(), menu.getComponent());
+        }
+        return ETags.of("menus", fields);
     }
 }
\ No newline at end of file
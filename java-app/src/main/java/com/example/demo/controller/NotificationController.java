@@ -1,7 +1,13 @@
 package com.example.demo.controller;
 
-import java.util.UUID;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,20 +15,36 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.security.access.prepost.PreAuthorize;
 
+import com.example.demo.dto.BulkNotificationRequestDto;
+import com.example.demo.dto.MarkReadRequestDto;
+import com.example.demo.dto.NotificationCursor;
 import com.example.demo.dto.NotificationDto;
 import com.example.demo.dto.NotificationResponseDto;
-import com.example.demo.redis.RedisSubscriber;
+import com.example.demo.dto.SliceResponseDto;
+import com.example.demo.dto.UnreadCountDto;
+import com.example.demo.redis.NotificationEnvelope;
+import com.example.demo.redis.NotificationPublisher;
 import com.example.demo.service.NotificationService;
+import com.example.demo.service.NotificationWriteBehind;
+import com.example.demo.service.UnreadCountService;
+import com.example.demo.redis.ResourceVersions;
+import com.example.demo.sse.SseConnection;
+import com.example.demo.sse.SseConnectionRegistry;
+import com.example.demo.sse.SseFanoutDispatcher;
+import com.example.demo.sse.SseFrame;
+import com.example.demo.sse.SseReplayBuffer;
+import com.example.demo.web.VersionedResource;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
@@ -34,27 +56,83 @@ import lombok.extern.slf4j.Slf4j;
 @RequestMapping("/api/notifications")
 public class NotificationController {
 
-    private final ObjectMapper objectMapper;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final NotificationPublisher notificationPublisher;
     private final NotificationService notificationService;
+    private final NotificationWriteBehind notificationWriteBehind;
+    private final UnreadCountService unreadCountService;
+    private final ObjectMapper objectMapper;
+    private final SseConnectionRegistry connectionRegistry;
+    private final SseFanoutDispatcher fanoutDispatcher;
+    private final SseReplayBuffer replayBuffer;
     private static final long SSE_TIMEOUT = 60 * 60 * 1000L; // 1 hour
+    private static final int MAX_INBOX_SIZE = 100;
+    private static final int MAX_READ_IDS = 1000;
+
+    @Value("${notification.bulk.max-size:10000}")
+    private int bulkMaxSize;
+
+    // 동시에 처리하는 대량 발송 요청 수를 제한합니다. (각 요청이 큰 배치 INSERT와 파이프라인 발행을 수행하므로)
+    private Semaphore bulkPermits;
+
+    @Value("${notification.bulk.max-concurrent:2}")
+    void setBulkMaxConcurrent(int maxConcurrent) {
+        this.bulkPermits = new Semaphore(maxConcurrent);
+    }
 
     @PostMapping("/send")
     public ResponseEntity<String> sendNotification(@RequestBody NotificationDto notificationDto) {
         try {
-            // 1. 데이터베이스에 알림 저장
-            notificationService.saveNotification(notificationDto);
+            // 1. 데이터베이스에 알림 저장 (write-behind 모드에서는 대기열에 넣고 배치로 저장)
+            if (!notificationWriteBehind.submit(notificationDto)) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body("Notification queue is full, retry later");
+            }
             
-            // 2. Redis를 통해 모든 구독자에게 알림 전송
-            String message = objectMapper.writeValueAsString(notificationDto);
-            redisTemplate.convertAndSend("notification", message);
+            // 2. Redis를 통해 알림 전송 (수신자가 있으면 해당 사용자에게만, 없으면 모든 구독자에게)
+            notificationPublisher.publish(notificationDto);
             
+            if (notificationWriteBehind.isEnabled()) {
+                return ResponseEntity.accepted().body("Notification sent and queued for saving");
+            }
             return ResponseEntity.ok("Notification sent and saved successfully");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Notification was not accepted");
         } catch (Exception e) {
             log.error("Error processing notification", e);
             return ResponseEntity.status(500).body("Error processing notification: " + e.getMessage());
         }
     }
+
+    /**
+     * 여러 알림을 한 번에 저장하고 발행합니다.
+     * 한 트랜잭션에서 배치 INSERT로 저장한 뒤, Redis 파이프라인으로 발행합니다.
+     * @param request 개별 알림 목록 또는 템플릿 + 수신자 목록
+     * @return 처리 결과
+     */
+    @PostMapping("/send/bulk")
+    public ResponseEntity<String> sendNotifications(@RequestBody BulkNotificationRequestDto request) {
+        List<NotificationDto> notifications = request.toNotifications();
+        if (notifications.isEmpty() || notifications.size() > bulkMaxSize) {
+            return ResponseEntity.badRequest().body("Notification count must be between 1 and " + bulkMaxSize);
+        }
+        if (!bulkPermits.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Too many bulk requests in progress, retry later");
+        }
+        try {
+            notificationService.saveNotifications(notifications);
+            int published = notificationPublisher.publishAll(notifications);
+            return ResponseEntity.ok(notifications.size() + " notifications saved, " + published + " messages published");
+        } catch (Exception e) {
+            log.error("Error processing bulk notifications", e);
+            return ResponseEntity.status(500).body("Error processing notifications: " + e.getMessage());
+        } finally {
+            bulkPermits.release();
+        }
+    }
     
     /**
      * 인증된 사용자의 알림 목록을 최신순으로 조회합니다.
@@ -62,12 +140,49 @@ public class NotificationController {
      * @return 페이징된 알림 목록
      */
     @PreAuthorize("isAuthenticated()")
+    @VersionedResource(ResourceVersions.NOTIFICATIONS)
     @GetMapping
     public ResponseEntity<Page<NotificationResponseDto>> getNotifications(
             @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
         return ResponseEntity.ok(notificationService.getNotifications(pageable));
     }
 
+    /**
+     * 인증된 사용자의 받은 알림함(본인에게 온 알림 + 브로드캐스트)을 커서 기반으로 최신순 조회합니다.
+     * 전체 개수를 세지 않으며, 응답의 nextCursor를 다음 요청의 cursor로 넘기면 이어서 조회합니다.
+     * @param cursor 이전 응답의 nextCursor (없으면 첫 페이지)
+     * @param size 페이지 크기 (최대 100)
+     * @return 알림 목록과 다음 커서
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/inbox")
+    public ResponseEntity<SliceResponseDto<NotificationResponseDto>> getInbox(
+            Principal principal,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        NotificationCursor position;
+        try {
+            position = NotificationCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_INBOX_SIZE));
+        return ResponseEntity.ok(SliceResponseDto.of(
+                notificationService.getInbox(principal.getName(), position, pageSize),
+                notification -> NotificationCursor.of(notification).encode()));
+    }
+
+    /**
+     * 인증된 사용자의 읽지 않은 알림 수를 조회합니다. 테이블을 세지 않고 Redis 카운터를 읽습니다.
+     * 이후 변경은 SSE unread-count 이벤트로 전달됩니다.
+     * @return 본인에게 온 알림과 브로드캐스트의 읽지 않은 수
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/unread-count")
+    public ResponseEntity<UnreadCountDto> getUnreadCount(Principal principal) {
+        return ResponseEntity.ok(unreadCountService.getUnreadCount(principal.getName()));
+    }
+
     /**
      * 특정 알림을 읽음 처리합니다.
      * @param id 알림 ID
@@ -75,63 +190,140 @@ public class NotificationController {
      */
     @PreAuthorize("isAuthenticated()")
     @PatchMapping("/{id}/read")
-    public ResponseEntity<Void> markAsRead(@PathVariable Long id) {
-        notificationService.markAsRead(id);
+    public ResponseEntity<Void> markAsRead(Principal principal, @PathVariable Long id) {
+        List<Long> updated = notificationService.markAsRead(principal.getName(), List.of(id));
+        if (!updated.isEmpty()) {
+            publishRead(principal.getName(), Map.of("ids", updated));
+        }
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * 여러 알림을 한 번에 읽음 처리합니다. (UPDATE 한 번)
+     * 사용자의 다른 SSE 연결에는 notifications-read 이벤트로 읽음 처리된 ID 목록이 전달됩니다.
+     * @param request 읽음 처리할 알림 ID 목록 (최대 1000개)
+     * @return 새로 읽음 처리된 알림 수
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PatchMapping("/read")
+    public ResponseEntity<Map<String, Long>> markAsRead(Principal principal, @RequestBody MarkReadRequestDto request) {
+        List<Long> ids = request.getIds() != null ? request.getIds() : List.of();
+        if (ids.size() > MAX_READ_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Long> updated = notificationService.markAsRead(principal.getName(), ids);
+        if (!updated.isEmpty()) {
+            publishRead(principal.getName(), Map.of("ids", updated));
+        }
+        return ResponseEntity.ok(Map.of("updated", (long) updated.size()));
+    }
+
+    /**
+     * 받은 알림함의 알림을 모두 읽음 처리합니다. (UPDATE 한 번)
+     * 사용자의 다른 SSE 연결에는 notifications-read 이벤트({"all":true})가 전달됩니다.
+     * @param before 알림함 응답의 커서 (지정하면 그 위치와 이전의 알림만, 없으면 전체)
+     * @return 새로 읽음 처리된 알림 수
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PatchMapping("/read-all")
+    public ResponseEntity<Map<String, Long>> markAllAsRead(Principal principal,
+                                                           @RequestParam(value = "before", required = false) String before) {
+        NotificationCursor upTo;
+        try {
+            upTo = NotificationCursor.decode(before);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        long updated = notificationService.markAllAsRead(principal.getName(), upTo);
+        if (updated > 0) {
+            publishRead(principal.getName(), Map.of("all", true));
+        }
+        return ResponseEntity.ok(Map.of("updated", updated));
+    }
+
+    // 읽음 처리가 커밋된 뒤 사용자의 모든 SSE 연결(다른 탭/기기 포함)에 읽음 상태 변경을 알립니다.
+    private void publishRead(String userId, Map<String, Object> payload) {
+        try {
+            notificationPublisher.publish(new NotificationEnvelope(NotificationPublisher.READ_EVENT, userId,
+                    objectMapper.writeValueAsBytes(payload)));
+        } catch (Exception e) {
+            log.warn("읽음 처리 이벤트 발행 실패 (user: {}): {}", userId, e.getMessage());
+        }
+    }
+
     /**
      * 클라이언트가 SSE(Server-Sent Events)를 구독하기 위한 엔드포인트입니다.
      * 클라이언트는 이 엔드포인트로 연결을 열어두고, 서버에서 이벤트가 발생할 때마다 실시간으로 데이터를 수신할 수 있습니다.
+     * 인증된 사용자는 자신에게 온 알림과 브로드캐스트를, 익명 사용자는 브로드캐스트만 수신합니다.
      * 
+     * @param principal 인증된 사용자 (EventSource는 헤더를 보낼 수 없으므로 accessToken 쿠키로도 인증됩니다)
+     * @param lastEventIdHeader 브라우저가 자동 재연결 시 보내는 마지막 이벤트 ID
+     * @param lastEventIdParam 클라이언트가 직접 재연결할 때 쿼리로 넘기는 마지막 이벤트 ID
      * @return SseEmitter - 서버에서 클라이언트로 이벤트를 전송하기 위한 SseEmitter 객체
      */
     @GetMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter subscribe() {
-        // 고유한 클라이언트 ID 생성
-        String id = UUID.randomUUID().toString();
-        
+    public SseEmitter subscribe(Principal principal,
+                                @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                                @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
         // SseEmitter 객체 생성 (타임아웃: 1시간)
         SseEmitter emitter = new SseEmitter(SSE_TIMEOUT);
         
-        // 생성된 SseEmitter를 클라이언트 ID와 함께 맵에 저장
+        // 생성된 SseEmitter를 레지스트리에 등록 (고유한 클라이언트 ID가 부여됨)
         // 이후 이 클라이언트에게 이벤트를 보낼 때 사용됨
-        RedisSubscriber.sseEmitters.put(id, emitter);
+        String userId = principal != null ? principal.getName() : null;
+        // 등록 전에 재개 지점을 정해 두므로, 등록 중에 저장된 이벤트도 아래 재전송 구간에 포함됩니다.
+        String currentEventId = replayBuffer.currentEventId();
+        SseConnection connection = connectionRegistry.register(emitter, userId);
+        String id = connection.getId();
         
         // 타임아웃 핸들러 설정 (1시간 후에 자동으로 호출됨)
         emitter.onTimeout(() -> {
             log.info("클라이언트 {}의 SSE 연결이 타임아웃되었습니다.", id);
             emitter.complete();
-            RedisSubscriber.sseEmitters.remove(id);
+            connectionRegistry.deregister(id);
         });
         
         // 완료 핸들러 설정 (클라이언트가 연결을 종료하면 호출됨)
         emitter.onCompletion(() -> {
             log.info("클라이언트 {}의 SSE 연결이 완료되었습니다.", id);
-            RedisSubscriber.sseEmitters.remove(id);
+            connectionRegistry.deregister(id);
         });
         
         // 에러 핸들러 설정 (에러 발생 시 호출됨)
         emitter.onError((ex) -> {
             log.error("SSE error for client {}: {}", id, ex.getMessage(), ex);
             emitter.complete();
-            RedisSubscriber.sseEmitters.remove(id);
+            connectionRegistry.deregister(id);
         });
         
+        // 재연결한 클라이언트에게는 놓친 이벤트만 재전송합니다. 처음 연결하면 등록 전 재개 지점 이후의 이벤트를 보냅니다.
+        // 링 버퍼로 채울 수 없는 경우(다른 노드, 재시작, 버퍼 초과)에는 reset 이벤트로 목록을 다시 조회하도록 알립니다.
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        String resumeId = lastEventId != null && !lastEventId.isBlank() ? lastEventId : currentEventId;
+        List<SseFrame> replay = replayBuffer.framesAfter(resumeId, userId);
+        if (replay == null) {
+            log.info("클라이언트 {}의 Last-Event-ID {} 이후 이벤트를 재전송할 수 없어 reset을 보냅니다.", id, lastEventId);
+            replay = List.of(SseFrame.of("reset", "replay-unavailable"));
+            // reset을 받기 전에 끊기면 같은 ID로 재연결해 다시 reset을 받도록 open 이벤트에 ID를 붙이지 않습니다.
+            resumeId = null;
+        }
+
         try {
-            // Send initial connection event
-            emitter.send(SseEmitter.event()
+            // 연결 이벤트에 재개 지점을 ID로 붙여, 다른 이벤트를 받기 전에 끊겨도 재연결 시 놓친 이벤트를 받게 합니다.
+            SseEmitter.SseEventBuilder open = SseEmitter.event()
                     .name("open")
                     .data("connected")
-                    .reconnectTime(5000));
+                    .reconnectTime(5000);
+            emitter.send(resumeId != null ? open.id(resumeId) : open);
         } catch (Exception e) {
             log.error("Error sending initial event to client {}", id, e);
             emitter.completeWithError(e);
-            RedisSubscriber.sseEmitters.remove(id);
+            connectionRegistry.deregister(id);
             return emitter;
         }
+        fanoutDispatcher.start(connection, replay);
         
-        log.info("New SSE client connected: {}", id);
+        log.info("New SSE client connected: {} (node {} connections: {})", id, connectionRegistry.getNodeId(), connectionRegistry.size());
         return emitter;
     }
 }
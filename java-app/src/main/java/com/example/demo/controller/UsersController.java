@@ -3,6 +3,7 @@ package com.example.demo.controller;
 import java.security.Principal;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,6 +17,8 @@ import com.example.demo.dto.LoginRequestDto;
 import com.example.demo.dto.LoginResponseDto;
 import com.example.demo.dto.UsersRequestDto;
 import com.example.demo.entity.Users;
+import com.example.demo.oauth.OAuthProviderUnavailableException;
+import com.example.demo.security.PasswordHashingBusyException;
 import com.example.demo.service.GoogleOAuthService;
 import com.example.demo.service.KakaoOAuthService;
 import com.example.demo.service.UsersService;
@@ -36,15 +39,24 @@ public class UsersController {
     private final GoogleOAuthService googleOAuthService;
 
     @PostMapping("/signup")
-    public String signup(@RequestBody UsersRequestDto request) {
-        usersService.signup(request);
-        return "회원가입 성공!";
+    public ResponseEntity<String> signup(@RequestBody UsersRequestDto request) {
+        try {
+            usersService.signup(request);
+        } catch (PasswordHashingBusyException e) {
+            return busy(e);
+        }
+        return ResponseEntity.ok("회원가입 성공!");
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponseDto> login(@RequestBody LoginRequestDto request,
-                                                  HttpServletResponse response) {
-        LoginResponseDto tokens = usersService.login(request);
+    public ResponseEntity<?> login(@RequestBody LoginRequestDto request,
+                                   HttpServletResponse response) {
+        LoginResponseDto tokens;
+        try {
+            tokens = usersService.login(request);
+        } catch (PasswordHashingBusyException e) {
+            return busy(e);
+        }
 
         // Refresh Token을 HttpOnly 쿠키로 설정
         jwtTokenProvider.setRefreshTokenCookie(response, tokens.getRefreshToken());
@@ -56,14 +68,7 @@ public class UsersController {
     @PostMapping("/refresh")
     public ResponseEntity<?> refresh(HttpServletRequest request, HttpServletResponse response) {
         // 쿠키에서 Refresh Token 추출
-        String refreshToken = null;
-        if (request.getCookies() != null) {
-            for (Cookie cookie : request.getCookies()) {
-                if (cookie.getName().equals("refreshToken")) {
-                    refreshToken = cookie.getValue();
-                }
-            }
-        }
+        String refreshToken = resolveRefreshToken(request);
 
         if (refreshToken == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("리프레시 토큰이 없습니다.");
@@ -83,36 +88,63 @@ public class UsersController {
 
     @PostMapping("/logout")
     public ResponseEntity<String> logout(@RequestHeader("Authorization") String accessToken,
+                                        HttpServletRequest request,
                                         HttpServletResponse response) {
-        String token = accessToken.replace("Bearer ", "");
-        String username = jwtTokenProvider.getUsernameFromToken(token);
-
-        Users user = usersService.getUser(username);
-        if (user == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("사용자를 찾을 수 없습니다.");
-        }
-
-        user.setRefreshToken(null);
-        usersService.updateUsers(user);
+        // 쿠키의 Refresh Token에 해당하는 기기 세션만 끝냅니다. (쿠키가 없으면 모든 세션)
+        String result = usersService.logout(accessToken, resolveRefreshToken(request));
 
         // 쿠키 삭제
         jwtTokenProvider.clearRefreshTokenCookie(response);
 
-        return ResponseEntity.ok("로그아웃 성공");
+        return ResponseEntity.ok(result);
+    }
+
+    // 비밀번호 해시 작업이 밀려 있으면 요청 스레드를 붙잡지 않고 바로 503으로 응답합니다.
+    private static ResponseEntity<String> busy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
+
+    // OAuth 제공자가 응답하지 않거나 회로가 열려 있으면 요청 스레드를 붙잡지 않고 503으로 응답합니다.
+    private static ResponseEntity<String> unavailable(OAuthProviderUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(e.getMessage());
+    }
+
+    private String resolveRefreshToken(HttpServletRequest request) {
+        String refreshToken = null;
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (cookie.getName().equals("refreshToken")) {
+                    refreshToken = cookie.getValue();
+                }
+            }
+        }
+        return refreshToken;
     }
 
     @PostMapping("/kakao")
     public ResponseEntity<?> kakaoLogin(@RequestBody Map<String, String> body, HttpServletResponse response) {
         String code = body.get("code");
-        LoginResponseDto tokens = kakaoOAuthService.kakaoLogin(code, response);
-        return ResponseEntity.ok(tokens);
+        try {
+            LoginResponseDto tokens = kakaoOAuthService.kakaoLogin(code, response);
+            return ResponseEntity.ok(tokens);
+        } catch (OAuthProviderUnavailableException e) {
+            return unavailable(e);
+        }
     }
 
     @PostMapping("/google")
     public ResponseEntity<?> googleLogin(@RequestBody Map<String, String> body, HttpServletResponse response) {
         String code = body.get("code");
-        LoginResponseDto tokens = googleOAuthService.loginWithGoogle(code, response);
-        return ResponseEntity.ok(tokens);
+        try {
+            LoginResponseDto tokens = googleOAuthService.loginWithGoogle(code, response);
+            return ResponseEntity.ok(tokens);
+        } catch (OAuthProviderUnavailableException e) {
+            return unavailable(e);
+        }
     }
 
     // 현재 로그인된 사용자 정보를 반환하는 엔드포인트 추가
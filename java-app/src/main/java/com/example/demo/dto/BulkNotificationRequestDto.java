@@ -0,0 +1,40 @@
+package com.example.demo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 대량 알림 전송 요청입니다.
+ * notifications로 개별 알림을 나열하거나, template과 recipientIds로 같은 내용을 여러 수신자에게 보낼 수 있습니다.
+ * 둘 다 지정하면 모두 전송합니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkNotificationRequestDto {
+    private List<NotificationDto> notifications; // 개별 알림 목록
+    private NotificationDto template; // recipientIds의 각 수신자에게 보낼 알림 (template의 recipientId는 무시)
+    private List<String> recipientIds;
+
+    /**
+     * 요청을 수신자별 알림 목록으로 펼칩니다.
+     */
+    public List<NotificationDto> toNotifications() {
+        List<NotificationDto> result = new ArrayList<>();
+        if (notifications != null) {
+            result.addAll(notifications);
+        }
+        if (template != null && recipientIds != null) {
+            for (String recipientId : recipientIds) {
+                result.add(new NotificationDto(template.getTitle(), template.getMessage(), template.getType(), recipientId));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+
+import com.example.demo.entity.Item;
+
+/**
+ * 아이템 목록 커서 페이지네이션의 위치입니다. 정렬 기준과 마지막으로 받은 아이템의 정렬 키를 담습니다.
+ * 정렬 기준이 토큰에 들어 있으므로 두 번째 페이지부터는 커서만 넘기면 같은 순서로 이어서 조회합니다.
+ * 클라이언트에는 내용을 해석할 필요가 없는 URL-safe Base64 토큰으로 전달됩니다.
+ *
+ * @param name 마지막 아이템의 이름 (이름순일 때만 사용)
+ */
+public record ItemCursor(SortKey sort, boolean descending, long id, String name) {
+
+    /** 커서 정렬 기준. 같은 값이 있으면 id로 순서를 정합니다. */
+    public enum SortKey {
+        ID, NAME
+    }
+
+    /**
+     * 마지막으로 받은 아이템 다음 위치
+     */
+    public static ItemCursor after(Item item, SortKey sort, boolean descending) {
+        return new ItemCursor(sort, descending, item.getId(), sort == SortKey.NAME ? item.getName() : null);
+    }
+
+    /**
+     * @param sort 정렬 필드 이름 (id, name)
+     * @throws IllegalArgumentException 지원하지 않는 정렬 필드인 경우
+     */
+    public static SortKey sortKey(String sort) {
+        return SortKey.valueOf(sort.toUpperCase(Locale.ROOT));
+    }
+
+    public String encode() {
+        String raw = sort + "|" + (descending ? "d" : "a") + "|" + id + (name != null ? "|" + name : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token 이전 응답의 nextCursor
+     * @throws IllegalArgumentException 토큰 형식이 올바르지 않은 경우
+     */
+    public static ItemCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4); // 이름에 '|'가 있어도 마지막 필드로 남습니다.
+            SortKey sort = SortKey.valueOf(parts[0]);
+            if (sort == SortKey.NAME && parts.length < 4) {
+                throw new IllegalArgumentException("Missing name in cursor");
+            }
+            return new ItemCursor(sort, "d".equals(parts[1]), Long.parseLong(parts[2]), sort == SortKey.NAME ? parts[3] : null);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -12,4 +12,18 @@ import lombok.AllArgsConstructor;
 public class ItemSearchRequestDto {
     private String name;
     private String description;
+    private String q; // 이름과 설명을 함께 검색
+
+    /**
+     * 검색어. q가 없으면 name, description 순으로 사용합니다. (상품 화면은 name과 description에 같은 값을 보냅니다)
+     * @return 검색어가 없으면 null
+     */
+    public String getKeyword() {
+        for (String value : new String[] {q, name, description}) {
+            if (value != null && !value.isBlank()) {
+                return value;
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,16 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 자동 완성 검색 결과 항목입니다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemSuggestionDto {
+    private Long id;
+    private String name;
+}
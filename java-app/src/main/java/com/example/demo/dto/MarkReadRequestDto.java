@@ -0,0 +1,16 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarkReadRequestDto {
+    private List<Long> ids; // 읽음 처리할 알림 ID 목록
+}
@@ -0,0 +1,42 @@
+package com.example.demo.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 알림함 커서 페이지네이션의 위치입니다. (created_at, id) 내림차순으로 마지막으로 받은 알림을 가리킵니다.
+ * 클라이언트에는 내용을 해석할 필요가 없는 URL-safe Base64 토큰으로 전달됩니다.
+ */
+public record NotificationCursor(LocalDateTime createdAt, long id) {
+
+    /** 첫 페이지: 모든 알림보다 뒤에 있는 위치 */
+    public static final NotificationCursor FIRST = new NotificationCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    public static NotificationCursor of(NotificationResponseDto notification) {
+        return new NotificationCursor(notification.getCreatedAt(), notification.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token 이전 응답의 nextCursor (없으면 첫 페이지)
+     * @throws IllegalArgumentException 토큰 형식이 올바르지 않은 경우
+     */
+    public static NotificationCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new NotificationCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -13,4 +13,5 @@ public class NotificationDto {
     private String title;
     private String message;
     private String type; // info, success, warning, error
+    private String recipientId; // 수신자 ID (username). 없으면 모든 사용자에게 브로드캐스트
 }
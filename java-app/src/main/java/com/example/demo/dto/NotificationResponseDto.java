@@ -37,4 +37,20 @@ public class NotificationResponseDto {
                 .readAt(notification.getReadAt())
                 .build();
     }
+
+    /**
+     * 브로드캐스트 알림을 특정 사용자 기준으로 변환합니다. 읽음 여부는 그 사용자의 읽음 기록으로 정합니다.
+     * @param readAt 사용자가 읽은 일시 (읽지 않았으면 null)
+     */
+    public static NotificationResponseDto fromBroadcast(Notification notification, LocalDateTime readAt) {
+        return NotificationResponseDto.builder()
+                .id(notification.getId())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .type(notification.getType())
+                .isRead(readAt != null)
+                .createdAt(notification.getCreatedAt())
+                .readAt(readAt)
+                .build();
+    }
 }
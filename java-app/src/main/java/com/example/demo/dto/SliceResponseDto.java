@@ -0,0 +1,30 @@
+package com.example.demo.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Slice;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 커서 기반 목록 응답입니다. 전체 개수를 세지 않고, 다음 페이지가 있으면 nextCursor로 이어서 조회합니다.
+ */
+@Getter
+@AllArgsConstructor
+public class SliceResponseDto<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor; // 다음 페이지 요청 시 cursor 파라미터로 전달 (마지막 페이지면 null)
+
+    /**
+     * @param cursorOf 마지막 항목으로부터 다음 커서 토큰을 만드는 함수
+     */
+    public static <T> SliceResponseDto<T> of(Slice<T> slice, Function<T, String> cursorOf) {
+        List<T> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty() ? cursorOf.apply(content.get(content.size() - 1)) : null;
+        return new SliceResponseDto<>(content, slice.getSize(), slice.hasNext(), nextCursor);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 읽지 않은 알림 수입니다. 사용자에게 온 알림과 모든 사용자가 함께 받는 브로드캐스트를 나누어 전달합니다.
+ * broadcastTotal은 전체 브로드캐스트 수로, 새 브로드캐스트가 전체 수로만 알려질 때 클라이언트가 읽지 않은 수를 다시 계산하는 데 씁니다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadCountDto {
+    private long user;
+    private long broadcast;
+    private long broadcastTotal;
+
+    public long getTotal() {
+        return user + broadcast;
+    }
+}
@@ -2,7 +2,6 @@ package com.example.demo.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
@@ -15,8 +14,11 @@ import java.time.LocalDateTime;
 @Table(name = "notifications")
 public class Notification {
     
+    // 시퀀스를 allocationSize 단위로 미리 할당받아 INSERT를 JDBC 배치로 묶을 수 있습니다. (IDENTITY는 배치 불가)
+    // DB 시퀀스의 INCREMENT BY도 같은 값이어야 합니다. (V3__Notification_id_sequence_increment.sql)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_id_seq")
+    @SequenceGenerator(name = "notifications_id_seq", sequenceName = "notifications_id_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -35,10 +37,17 @@ public class Notification {
     @Column(nullable = false)
     private boolean isRead = false;
     
-    @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
     
     @Column
     private LocalDateTime readAt;
+
+    // write-behind로 늦게 저장되는 알림은 요청 시점의 생성 시각을 유지합니다.
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
 }
@@ -0,0 +1,68 @@
+package com.example.demo.oauth;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 OAuth 제공자 호출용 회로 차단기입니다.
+ *
+ * CLOSED: 호출을 보내며, 연속 실패가 failure-threshold에 이르면 OPEN이 됩니다.
+ * OPEN: open-ms 동안 호출을 보내지 않고 바로 실패시킵니다.
+ * HALF_OPEN: open-ms가 지나면 시험 호출 하나만 보내, 성공하면 CLOSED, 실패하면 다시 OPEN이 됩니다.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private State state = State.CLOSED; // this 잠금으로 보호
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+    }
+
+    /**
+     * @return 호출을 보내도 되면 true
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            consecutiveFailures = 0;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.demo.oauth;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * OAuth 제공자 하나에 대한 HTTP 클라이언트입니다. 제공자별 응답 시간 제한과 회로 차단기를 적용합니다.
+ *
+ * 4xx 응답(잘못된 인가 코드 등)은 제공자가 정상 동작한 것으로 보고 그대로 던지며,
+ * 연결/응답 시간 초과와 5xx 응답은 실패로 세어 {@link OAuthProviderUnavailableException}으로 바꿉니다.
+ *
+ * 메트릭: oauth.http.requests (provider, outcome=success|client_error|failure), oauth.http.rejected (회로가 열려 거절된 호출),
+ *        oauth.http.circuit.state (0: CLOSED, 1: HALF_OPEN, 2: OPEN)
+ */
+public class OAuthHttpClient {
+
+    private final String provider;
+    private final RestTemplate restTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final Timer successTimer;
+    private final Timer clientErrorTimer;
+    private final Timer failureTimer;
+    private final Counter rejectedCounter;
+
+    public OAuthHttpClient(String provider, RestTemplate restTemplate, CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+        this.provider = provider;
+        this.restTemplate = restTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.successTimer = requestTimer(meterRegistry, "success");
+        this.clientErrorTimer = requestTimer(meterRegistry, "client_error");
+        this.failureTimer = requestTimer(meterRegistry, "failure");
+        this.rejectedCounter = Counter.builder("oauth.http.rejected")
+                .tag("provider", provider)
+                .description("회로 차단기가 열려 보내지 않은 OAuth 호출 수")
+                .register(meterRegistry);
+        Gauge.builder("oauth.http.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .tag("provider", provider)
+                .description("OAuth 제공자 회로 차단기 상태 (0: CLOSED, 1: HALF_OPEN, 2: OPEN)")
+                .register(meterRegistry);
+    }
+
+    private Timer requestTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("oauth.http.requests")
+                .tag("provider", provider)
+                .tag("outcome", outcome)
+                .description("OAuth 제공자 호출 소요 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 요청을 보내고 응답 본문을 반환합니다.
+     * @throws HttpClientErrorException 제공자가 4xx로 응답한 경우
+     * @throws OAuthProviderUnavailableException 회로가 열려 있거나 제공자가 응답하지 않은 경우
+     */
+    public <T> T exchange(String url, HttpMethod method, HttpEntity<?> request, ParameterizedTypeReference<T> responseType) {
+        if (!circuitBreaker.tryAcquire()) {
+            rejectedCounter.increment();
+            throw new OAuthProviderUnavailableException(provider, null);
+        }
+        long start = System.nanoTime();
+        try {
+            T body = restTemplate.exchange(url, method, request, responseType).getBody();
+            circuitBreaker.onSuccess();
+            successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return body;
+        } catch (HttpClientErrorException e) {
+            circuitBreaker.onSuccess();
+            clientErrorTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        } catch (RestClientException | CancellationException e) {
+            // JdkClientHttpRequestFactory는 응답 본문을 읽는 중 시간이 초과되면 CancellationException을 그대로 던집니다.
+            circuitBreaker.onFailure();
+            failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw new OAuthProviderUnavailableException(provider, e);
+        } catch (RuntimeException e) {
+            // 예상하지 못한 예외(응답 변환 실패 등)도 실패로 기록해야 HALF_OPEN 시험 호출이 풀립니다.
+            circuitBreaker.onFailure();
+            failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo.oauth;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * OAuth 제공자별 {@link OAuthHttpClient}를 만들어 재사용합니다.
+ *
+ * 모든 제공자가 JDK HttpClient 하나를 공유하므로 제공자 호스트별 연결이 keep-alive로 풀링되어
+ * 로그인마다 새 TCP/TLS 연결을 맺지 않습니다. 연결 시간 제한은 공유 클라이언트에, 응답 시간 제한과
+ * 회로 차단기 설정은 제공자별로 적용되며 oauth.http.{provider}.* 로 기본값(oauth.http.*)을 덮어쓸 수 있습니다.
+ * RestTemplateBuilder로 만들기 때문에 http.client.requests 메트릭도 함께 기록됩니다.
+ */
+@Component
+public class OAuthHttpClients {
+
+    private final HttpClient httpClient;
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final Map<String, OAuthHttpClient> clients = new ConcurrentHashMap<>();
+
+    public OAuthHttpClients(RestTemplateBuilder restTemplateBuilder,
+                            MeterRegistry meterRegistry,
+                            Environment environment,
+                            @Value("${oauth.http.connect-timeout-ms:2000}") long connectTimeoutMillis) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .build();
+        this.restTemplateBuilder = restTemplateBuilder;
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+    }
+
+    /**
+     * 제공자의 클라이언트를 반환합니다. 처음 요청될 때 만들어집니다.
+     * @param provider 제공자 이름 (예: kakao, google)
+     */
+    public OAuthHttpClient get(String provider) {
+        return clients.computeIfAbsent(provider, this::create);
+    }
+
+    private OAuthHttpClient create(String provider) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(property(provider, "read-timeout-ms", 5000)));
+        CircuitBreaker circuitBreaker = new CircuitBreaker(
+                (int) property(provider, "circuit.failure-threshold", 5),
+                property(provider, "circuit.open-ms", 30000));
+        return new OAuthHttpClient(provider, restTemplateBuilder.requestFactory(() -> requestFactory).build(),
+                circuitBreaker, meterRegistry);
+    }
+
+    private long property(String provider, String name, long defaultValue) {
+        Long common = environment.getProperty("oauth.http." + name, Long.class, defaultValue);
+        return environment.getProperty("oauth.http." + provider + "." + name, Long.class, common);
+    }
+}
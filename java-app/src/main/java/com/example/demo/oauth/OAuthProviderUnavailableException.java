@@ -0,0 +1,11 @@
+package com.example.demo.oauth;
+
+/**
+ * OAuth 제공자가 응답하지 않거나(연결/응답 시간 초과, 5xx) 회로 차단기가 열려 있을 때 발생합니다. (503으로 응답)
+ */
+public class OAuthProviderUnavailableException extends RuntimeException {
+
+    public OAuthProviderUnavailableException(String provider, Throwable cause) {
+        super(provider + " 로그인 서버에 연결할 수 없습니다. 잠시 후 다시 시도해 주세요.", cause);
+    }
+}
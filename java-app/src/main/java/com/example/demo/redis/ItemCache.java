@@ -0,0 +1,246 @@
+package com.example.demo.redis;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.entity.Item;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 아이템 조회 결과를 두 단계로 캐시합니다. 노드 메모리의 LRU(1단계) → Redis(2단계) → DB 순으로 찾습니다.
+ *
+ * Redis 키: item:cache:{아이템 버전}:item:{id} = 아이템 JSON, item:cache:{아이템 버전}:page:{목록 조건} = 목록 첫 페이지 JSON
+ * Redis 항목은 지우지 않고 아이템 버전({@link ResourceVersions#ITEMS})으로 구분합니다. 아이템이 바뀌어 버전이 오르면
+ * 모든 노드가 새 버전의 키만 읽으므로, 이전 버전의 키는 더 이상 읽히지 않고 TTL로 사라집니다.
+ * 조회는 DB를 읽기 전에 버전을 읽으므로, 다른 노드에서 변경 전에 읽은 값은 이전 버전의 키에만 저장됩니다.
+ *
+ * 메모리 캐시는 아이템이 바뀌면 {@link #evictLocal}로 지우고, 다른 노드는 변경 알림(ItemChangeSubscriber)을 받아 지웁니다.
+ * Pub/Sub 메시지를 놓쳐도 오래된 값이 남지 않도록 메모리 캐시에도 짧은 TTL을 둡니다.
+ *
+ * 같은 키를 동시에 조회하면 한 요청만 Redis/DB를 읽고 나머지는 그 결과를 기다리므로, 인기 아이템의 캐시가 비어도
+ * 노드마다 DB 조회는 한 번입니다. 조회 중에 메모리 캐시가 비워지면 읽은 값은 메모리 캐시에 넣지 않습니다.
+ * Redis에 연결할 수 없으면(버전을 알 수 없으면) 메모리 캐시와 DB만 사용합니다.
+ * 캐시된 Item 객체는 여러 요청이 함께 쓰므로 수정하면 안 됩니다.
+ *
+ * 메트릭: item.cache.requests (result=local_hit|redis_hit|coalesced|miss), item.cache.local.size
+ */
+@Slf4j
+@Component
+public class ItemCache {
+
+    private static final String REDIS_KEY_PREFIX = "item:cache:";
+    private static final String ITEM_KEY_PREFIX = "item:";
+    private static final String PAGE_KEY_PREFIX = "page:";
+
+    /** 캐시된 목록 페이지 */
+    public record CachedPage(List<Item> items, boolean hasNext) {
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ResourceVersions resourceVersions;
+    private final boolean enabled;
+    private final long localTtlMillis;
+    private final Duration redisTtl;
+    private final JavaType itemType;
+    private final JavaType pageType;
+
+    private final Map<String, Entry> local; // this 잠금으로 보호
+    private final Map<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong(); // 무효화할 때마다 증가
+
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter coalesced;
+    private final Counter misses;
+
+    public ItemCache(StringRedisTemplate redisTemplate,
+                     ObjectMapper objectMapper,
+                     MeterRegistry meterRegistry,
+                     ResourceVersions resourceVersions,
+                     @Value("${item.cache.enabled:true}") boolean enabled,
+                     @Value("${item.cache.local-max-size:10000}") int localMaxSize,
+                     @Value("${item.cache.local-ttl-seconds:30}") long localTtlSeconds,
+                     @Value("${item.cache.redis-ttl-seconds:600}") long redisTtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.resourceVersions = resourceVersions;
+        this.enabled = enabled;
+        this.localTtlMillis = localTtlSeconds * 1000;
+        this.redisTtl = Duration.ofSeconds(redisTtlSeconds);
+        this.itemType = objectMapper.constructType(Item.class);
+        this.pageType = objectMapper.constructType(CachedPage.class);
+        this.local = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > localMaxSize;
+            }
+        };
+        this.localHits = requestCounter(meterRegistry, "local_hit");
+        this.redisHits = requestCounter(meterRegistry, "redis_hit");
+        this.coalesced = requestCounter(meterRegistry, "coalesced");
+        this.misses = requestCounter(meterRegistry, "miss");
+        // 다른 노드의 변경 알림보다 새 아이템 버전을 먼저 본 경우에도 이전 내용에 새 ETag가 붙지 않도록 메모리 캐시를 비웁니다.
+        resourceVersions.onChange(ResourceVersions.ITEMS, this::evictAllLocal);
+        Gauge.builder("item.cache.local.size", this, ItemCache::localSize)
+                .description("메모리 아이템 캐시 항목 수")
+                .register(meterRegistry);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("item.cache.requests")
+                .tag("result", result)
+                .description("아이템 캐시 조회 수 (local_hit: 메모리, redis_hit: Redis, coalesced: 동시 조회 대기, miss: DB 조회)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param loader 캐시에 없을 때 DB에서 읽는 함수 (없으면 null, null은 캐시하지 않음)
+     */
+    public Item getItem(Long id, Supplier<Item> loader) {
+        return get(ITEM_KEY_PREFIX + id, itemType, loader);
+    }
+
+    /**
+     * @param pageKey 목록 조건 (정렬, 크기 등)
+     */
+    public CachedPage getPage(String pageKey, Supplier<CachedPage> loader) {
+        return get(PAGE_KEY_PREFIX + pageKey, pageType, loader);
+    }
+
+    /**
+     * 아이템과 모든 목록 페이지를 이 노드의 메모리 캐시에서 지웁니다.
+     * Redis 항목은 아이템 버전을 올리면({@link ResourceVersions#bump}) 더 이상 읽히지 않습니다.
+     */
+    public void evictLocal(Long id) {
+        if (!enabled) {
+            return;
+        }
+        generation.incrementAndGet();
+        synchronized (this) {
+            local.remove(ITEM_KEY_PREFIX + id);
+            local.keySet().removeIf(key -> key.startsWith(PAGE_KEY_PREFIX));
+        }
+    }
+
+    /**
+     * 이 노드의 메모리 캐시를 모두 비웁니다.
+     */
+    public void evictAllLocal() {
+        if (!enabled) {
+            return;
+        }
+        generation.incrementAndGet();
+        synchronized (this) {
+            local.clear();
+        }
+    }
+
+    private synchronized int localSize() {
+        return local.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(String key, JavaType type, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Object cached = localGet(key);
+        if (cached != null) {
+            localHits.increment();
+            return (T) cached;
+        }
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(key, mine);
+        if (inFlight != null) {
+            coalesced.increment();
+            try {
+                return (T) inFlight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            // 버전을 먼저 읽어야 새 버전을 본 뒤의 메모리 캐시 비우기가 아래의 조회 세대에 포함됩니다.
+            Long version = resourceVersions.current(ResourceVersions.ITEMS);
+            String redisKey = version != null ? REDIS_KEY_PREFIX + version + ":" + key : null;
+            long loadedAt = generation.get();
+            T value = redisKey != null ? redisGet(redisKey, type) : null;
+            if (value != null) {
+                redisHits.increment();
+            } else {
+                misses.increment();
+                value = loader.get();
+                if (value != null && redisKey != null) {
+                    redisPut(redisKey, value);
+                }
+            }
+            if (value != null && generation.get() == loadedAt) {
+                localPut(key, value);
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+
+    private synchronized Object localGet(String key) {
+        Entry entry = local.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            local.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    private synchronized void localPut(String key, Object value) {
+        local.put(key, new Entry(value, System.currentTimeMillis() + localTtlMillis));
+    }
+
+    private <T> T redisGet(String key, JavaType type) {
+        try {
+            String json = redisTemplate.opsForValue().get(key);
+            return json == null ? null : objectMapper.readValue(json, type);
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Redis 아이템 캐시 조회 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void redisPut(String key, Object value) {
+        try {
+            redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(value), redisTtl);
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Redis 아이템 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.redis;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 아이템이 추가/수정/삭제되었음을 다른 노드에 알립니다.
+ * 메시지는 "{노드 ID}:{아이템 ID}" 형식이며, 아이템 내용은 받는 노드가 필요할 때 DB에서 다시 읽습니다.
+ */
+@Component
+public class ItemChangePublisher {
+
+    public static final String CHANNEL = "item:changed";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId;
+
+    public ItemChangePublisher(StringRedisTemplate redisTemplate,
+                               @Value("${notification.node-id}") String nodeId) {
+        this.redisTemplate = redisTemplate;
+        this.nodeId = nodeId;
+    }
+
+    public void publish(Long itemId) {
+        redisTemplate.convertAndSend(CHANNEL, nodeId + ":" + itemId);
+    }
+
+    /** 메시지를 보낸 노드 ID */
+    static String sender(String message) {
+        int separator = message.lastIndexOf(':');
+        return separator < 0 ? null : message.substring(0, separator);
+    }
+
+    /** 메시지의 아이템 ID, 형식이 잘못되었으면 null */
+    static Long itemId(String message) {
+        try {
+            return Long.valueOf(message.substring(message.lastIndexOf(':') + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
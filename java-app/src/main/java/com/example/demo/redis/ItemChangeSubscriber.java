@@ -0,0 +1,54 @@
+package com.example.demo.redis;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.search.ItemSearchIndex;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 다른 노드의 아이템 변경 알림을 받아 이 노드의 메모리 캐시를 지우고 검색 색인에 반영합니다.
+ * 이 노드가 보낸 알림은 ItemService가 이미 반영했으므로 무시합니다.
+ */
+@Slf4j
+@Component
+public class ItemChangeSubscriber implements MessageListener {
+
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemCache itemCache;
+    private final String nodeId;
+
+    public ItemChangeSubscriber(ItemSearchIndex itemSearchIndex,
+                                ItemCache itemCache,
+                                @Value("${notification.node-id}") String nodeId) {
+        this.itemSearchIndex = itemSearchIndex;
+        this.itemCache = itemCache;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (nodeId.equals(ItemChangePublisher.sender(body))) {
+            return;
+        }
+        Long itemId = ItemChangePublisher.itemId(body);
+        if (itemId == null) {
+            log.warn("잘못된 형식의 아이템 변경 메시지를 무시합니다: {}", body);
+            return;
+        }
+        itemCache.evictLocal(itemId);
+        try {
+            itemSearchIndex.reload(itemId);
+        } catch (Exception e) {
+            log.error("아이템 {} 변경을 검색 색인에 반영하지 못했습니다.", itemId, e);
+        }
+    }
+}
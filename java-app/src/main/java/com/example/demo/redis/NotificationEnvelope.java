@@ -0,0 +1,58 @@
+package com.example.demo.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 노드 간에 전달되는 SSE 이벤트의 Redis 메시지 형식입니다.
+ *
+ * 형식: [이벤트 이름] '\n' [수신자 ID (브로드캐스트는 빈 값)] '\n' [본문]
+ * 수신 측은 JSON을 파싱하지 않고 줄바꿈 위치만 찾아 이벤트 종류와 수신자를 알아낼 수 있고,
+ * 본문 바이트는 그대로 SSE 프레임에 사용됩니다.
+ *
+ * @param eventName SSE 이벤트 이름 (예: notification, unread-count)
+ * @param recipientId 수신자 ID (브로드캐스트는 null)
+ * @param payload SSE data 필드로 전달될 본문
+ */
+public record NotificationEnvelope(String eventName, String recipientId, byte[] payload) {
+
+    private static final byte SEPARATOR = '\n';
+
+    public byte[] encode() {
+        if (eventName.indexOf(SEPARATOR) >= 0 || (recipientId != null && recipientId.indexOf(SEPARATOR) >= 0)) {
+            throw new IllegalArgumentException("이벤트 이름과 수신자 ID에 줄바꿈을 포함할 수 없습니다.");
+        }
+        byte[] event = eventName.getBytes(StandardCharsets.UTF_8);
+        byte[] id = recipientId != null ? recipientId.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        byte[] body = new byte[event.length + 1 + id.length + 1 + payload.length];
+        System.arraycopy(event, 0, body, 0, event.length);
+        body[event.length] = SEPARATOR;
+        System.arraycopy(id, 0, body, event.length + 1, id.length);
+        body[event.length + 1 + id.length] = SEPARATOR;
+        System.arraycopy(payload, 0, body, event.length + id.length + 2, payload.length);
+        return body;
+    }
+
+    /**
+     * @return 형식이 올바르지 않으면 null
+     */
+    public static NotificationEnvelope decode(byte[] body) {
+        int first = indexOf(body, 0);
+        int second = first < 0 ? -1 : indexOf(body, first + 1);
+        if (second < 0) {
+            return null;
+        }
+        String eventName = new String(body, 0, first, StandardCharsets.UTF_8);
+        String recipientId = second > first + 1 ? new String(body, first + 1, second - first - 1, StandardCharsets.UTF_8) : null;
+        return new NotificationEnvelope(eventName, recipientId, Arrays.copyOfRange(body, second + 1, body.length));
+    }
+
+    private static int indexOf(byte[] body, int from) {
+        for (int i = from; i < body.length; i++) {
+            if (body[i] == SEPARATOR) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
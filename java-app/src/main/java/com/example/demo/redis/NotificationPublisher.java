@@ -0,0 +1,161 @@
+package com.example.demo.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.dto.NotificationDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 알림과 알림 관련 SSE 이벤트를 Redis 채널에 발행합니다.
+ *
+ * 수신자가 없는 이벤트는 모든 노드가 구독하는 브로드캐스트 채널로 발행됩니다.
+ * 수신자가 지정된 이벤트는 프레즌스 디렉터리에서 수신자가 연결된 노드를 찾아 그 노드의 채널로만 발행되므로,
+ * Redis Pub/Sub 트래픽은 노드 수가 아니라 실제 수신자 연결 수에 비례합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationPublisher {
+
+    public static final String BROADCAST_CHANNEL = "notification";
+    public static final String NODE_CHANNEL_PREFIX = "notification:node:";
+    public static final String NOTIFICATION_EVENT = "notification";
+    public static final String UNREAD_COUNT_EVENT = "unread-count";
+    public static final String READ_EVENT = "notifications-read";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final PresenceDirectory presenceDirectory;
+
+    /** 노드별 대상 알림 채널 이름 */
+    public static String nodeChannel(String nodeId) {
+        return NODE_CHANNEL_PREFIX + nodeId;
+    }
+
+    public void publish(NotificationDto notificationDto) throws JsonProcessingException {
+        publish(toEnvelope(notificationDto));
+    }
+
+    /**
+     * 이벤트 하나를 발행합니다. 수신자가 없으면 모든 노드에, 있으면 수신자가 연결된 노드에만 전달합니다.
+     * @return 메시지를 발행한 채널 수
+     */
+    public int publish(NotificationEnvelope envelope) {
+        byte[] body = envelope.encode();
+        if (envelope.recipientId() == null) {
+            byte[] channel = BROADCAST_CHANNEL.getBytes(StandardCharsets.UTF_8);
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, body));
+            return 1;
+        }
+        String recipientId = envelope.recipientId();
+        Set<String> nodes = presenceDirectory.nodesOf(recipientId);
+        int published = 0;
+        for (String nodeId : nodes) {
+            byte[] channel = nodeChannel(nodeId).getBytes(StandardCharsets.UTF_8);
+            Long receivers = redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, body));
+            if (receivers == null || receivers == 0) {
+                // 채널을 구독하는 노드가 없으면 종료된 노드의 남은 프레즌스입니다.
+                presenceDirectory.evict(recipientId, nodeId);
+            } else {
+                published++;
+            }
+        }
+        return published;
+    }
+
+    /**
+     * 여러 알림을 한꺼번에 발행합니다.
+     * @return 발행한 메시지 수 (브로드캐스트 1건 + 대상 알림은 수신자가 연결된 노드마다 1건)
+     */
+    public int publishAll(List<NotificationDto> notificationDtos) throws JsonProcessingException {
+        List<NotificationEnvelope> envelopes = new ArrayList<>(notificationDtos.size());
+        for (NotificationDto notificationDto : notificationDtos) {
+            envelopes.add(toEnvelope(notificationDto));
+        }
+        return publishAll(envelopes);
+    }
+
+    /**
+     * 여러 이벤트를 한꺼번에 발행합니다.
+     * 수신자들의 프레즌스 조회와 모든 PUBLISH를 각각 파이프라인 한 번으로 보내므로 이벤트 수만큼 왕복하지 않습니다.
+     * @return 발행한 메시지 수
+     */
+    public int publishAll(Iterable<NotificationEnvelope> envelopes) {
+        Set<String> recipients = new HashSet<>();
+        for (NotificationEnvelope envelope : envelopes) {
+            if (envelope.recipientId() != null) {
+                recipients.add(envelope.recipientId());
+            }
+        }
+        Map<String, Set<String>> nodesByUser = recipients.isEmpty() ? Map.of() : presenceDirectory.nodesOf(recipients);
+
+        byte[] broadcastChannel = BROADCAST_CHANNEL.getBytes(StandardCharsets.UTF_8);
+        List<byte[]> channels = new ArrayList<>();
+        List<byte[]> bodies = new ArrayList<>();
+        List<String[]> targets = new ArrayList<>(); // {수신자, 노드}, 브로드캐스트는 null
+        for (NotificationEnvelope envelope : envelopes) {
+            String recipientId = envelope.recipientId();
+            if (recipientId == null) {
+                channels.add(broadcastChannel);
+                bodies.add(envelope.encode());
+                targets.add(null);
+                continue;
+            }
+            Set<String> nodes = nodesByUser.get(recipientId);
+            if (nodes == null) {
+                continue;
+            }
+            byte[] body = envelope.encode();
+            for (String nodeId : nodes) {
+                channels.add(nodeChannel(nodeId).getBytes(StandardCharsets.UTF_8));
+                bodies.add(body);
+                targets.add(new String[] {recipientId, nodeId});
+            }
+        }
+        if (channels.isEmpty()) {
+            return 0;
+        }
+
+        List<Object> receivers = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < channels.size(); i++) {
+                connection.publish(channels.get(i), bodies.get(i));
+            }
+            return null;
+        });
+        int published = 0;
+        Set<String> evicted = new HashSet<>();
+        for (int i = 0; i < receivers.size(); i++) {
+            Long count = (Long) receivers.get(i);
+            String[] target = targets.get(i);
+            if (target != null && (count == null || count == 0)) {
+                // 채널을 구독하는 노드가 없으면 종료된 노드의 남은 프레즌스입니다.
+                if (evicted.add(target[0] + '\n' + target[1])) {
+                    presenceDirectory.evict(target[0], target[1]);
+                }
+            } else {
+                published++;
+            }
+        }
+        return published;
+    }
+
+    // 알림 본문은 기존과 같이 값 직렬화기로 직렬화해 클라이언트가 받는 형식을 유지합니다.
+    @SuppressWarnings("unchecked")
+    private NotificationEnvelope toEnvelope(NotificationDto notificationDto) throws JsonProcessingException {
+        String message = objectMapper.writeValueAsString(notificationDto);
+        byte[] payload = ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(message);
+        return new NotificationEnvelope(NOTIFICATION_EVENT, notificationDto.getRecipientId(), payload);
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.demo.redis;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.sse.SseConnectionRegistry;
+import com.example.demo.sse.SseUserPresenceListener;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 사용자가 어느 노드에 SSE로 연결되어 있는지를 Redis에 기록하는 프레즌스 디렉터리입니다.
+ *
+ * 키: notification:presence:nodes:{userId} (ZSET, 값은 노드 ID, 점수는 노드가 마지막으로 기록한 시각(ms))
+ * 사용자의 첫 연결/마지막 연결 해제 시 기록되고 (해제 후에는 TTL 동안 유지), 주기적으로 현재 노드의 사용자 전체를 다시 기록합니다.
+ * 만료는 노드마다 따로 적용됩니다. 조회는 TTL 안에 기록된 노드만 반환하므로, 장애로 멈춘 노드는 같은 사용자가
+ * 다른 노드에 계속 연결되어 있어도 TTL이 지나면 빠지며, 남은 항목은 주기적 갱신 때 지워집니다.
+ * 키 자체의 TTL은 연결된 노드가 하나도 없는 사용자의 키를 지우는 용도입니다.
+ */
+@Slf4j
+@Component
+public class PresenceDirectory implements SseUserPresenceListener {
+
+    // 이전의 SET 키(notification:presence:{userId})와 타입이 다르므로 다른 이름을 씁니다.
+    private static final String KEY_PREFIX = "notification:presence:nodes:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final SseConnectionRegistry connectionRegistry;
+    private final String nodeId;
+    private final Duration ttl;
+
+    public PresenceDirectory(StringRedisTemplate redisTemplate,
+                             SseConnectionRegistry connectionRegistry,
+                             @Value("${notification.presence.ttl-seconds:90}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.connectionRegistry = connectionRegistry;
+        this.nodeId = connectionRegistry.getNodeId();
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        connectionRegistry.addPresenceListener(this);
+    }
+
+    @Override
+    public void userOnline(String userId) {
+        try {
+            String key = key(userId);
+            redisTemplate.opsForZSet().add(key, nodeId, System.currentTimeMillis());
+            redisTemplate.expire(key, ttl);
+        } catch (Exception e) {
+            // 다음 주기적 갱신에서 다시 기록됩니다.
+            log.warn("프레즌스 등록 실패 (user: {}): {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 마지막 연결이 끊기면 항목을 지우지 않고 해제 시각으로 다시 기록해, TTL 동안은 이 노드로 이벤트가 계속 전달되게 합니다.
+     * 그동안 저장된 이벤트는 재연결 시 재전송 버퍼에서 보내고, 다시 연결되지 않으면 TTL이 지나 빠집니다.
+     * 지우지 않으므로 동시에 다시 연결된 userOnline의 기록을 지우는 경합도 생기지 않습니다.
+     */
+    @Override
+    public void userOffline(String userId) {
+        try {
+            String key = key(userId);
+            redisTemplate.opsForZSet().add(key, nodeId, System.currentTimeMillis());
+            redisTemplate.expire(key, ttl);
+        } catch (Exception e) {
+            log.warn("프레즌스 해제 실패 (user: {}): {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 사용자가 연결된 노드 ID들을 반환합니다. (TTL 안에 기록한 노드만)
+     */
+    public Set<String> nodesOf(String userId) {
+        Set<String> nodes = redisTemplate.opsForZSet().rangeByScore(key(userId), liveSince(), Double.POSITIVE_INFINITY);
+        return nodes != null ? nodes : Set.of();
+    }
+
+    /**
+     * 여러 사용자가 연결된 노드 ID들을 파이프라인 한 번으로 조회합니다.
+     * @return 사용자 ID별 노드 ID (연결된 노드가 없는 사용자는 제외)
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Set<String>> nodesOf(Collection<String> userIds) {
+        List<String> users = new ArrayList<>(userIds);
+        double liveSince = liveSince();
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String userId : users) {
+                connection.zSetCommands().zRangeByScore(redisTemplate.getStringSerializer().serialize(key(userId)),
+                        liveSince, Double.POSITIVE_INFINITY);
+            }
+            return null;
+        });
+        Map<String, Set<String>> nodesByUser = new HashMap<>();
+        for (int i = 0; i < users.size(); i++) {
+            Set<String> nodes = (Set<String>) results.get(i);
+            if (nodes != null && !nodes.isEmpty()) {
+                nodesByUser.put(users.get(i), nodes);
+            }
+        }
+        return nodesByUser;
+    }
+
+    /**
+     * 더 이상 채널을 구독하지 않는 노드를 사용자의 프레즌스에서 제거합니다.
+     */
+    public void evict(String userId, String staleNodeId) {
+        redisTemplate.opsForZSet().remove(key(userId), staleNodeId);
+    }
+
+    /**
+     * 현재 노드에 연결된 모든 사용자의 프레즌스를 파이프라인으로 다시 기록하고 TTL을 연장합니다.
+     * 같은 키에서 TTL 안에 기록되지 않은(멈춘) 노드도 함께 지웁니다.
+     */
+    @Scheduled(fixedDelayString = "${notification.presence.refresh-interval-ms:30000}")
+    public void refresh() {
+        Set<String> users = connectionRegistry.connectedUsers();
+        if (users.isEmpty()) {
+            return;
+        }
+        byte[] node = redisTemplate.getStringSerializer().serialize(nodeId);
+        long ttlSeconds = ttl.toSeconds();
+        long now = System.currentTimeMillis();
+        double expiredBefore = now - ttl.toMillis();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String userId : users) {
+                    byte[] key = redisTemplate.getStringSerializer().serialize(key(userId));
+                    connection.zSetCommands().zAdd(key, now, node);
+                    connection.zSetCommands().zRemRangeByScore(key, Double.NEGATIVE_INFINITY, expiredBefore);
+                    connection.keyCommands().expire(key, ttlSeconds);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("프레즌스 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 종료 시 이 노드의 프레즌스를 정리합니다. 정리하지 못한 항목은 TTL이 지나면 사라집니다.
+     */
+    @PreDestroy
+    public void clear() {
+        Set<String> users = connectionRegistry.connectedUsers();
+        if (users.isEmpty()) {
+            return;
+        }
+        byte[] node = redisTemplate.getStringSerializer().serialize(nodeId);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String userId : users) {
+                    connection.zSetCommands().zRem(redisTemplate.getStringSerializer().serialize(key(userId)), node);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.debug("프레즌스 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    // 이 시각 이후에 기록한 노드만 연결된 것으로 봅니다. (노드 간 시계 차이는 TTL보다 충분히 작다고 가정)
+    private double liveSince() {
+        return System.currentTimeMillis() - ttl.toMillis();
+    }
+
+    private static String key(String userId) {
+        return KEY_PREFIX + userId;
+    }
+}
@@ -3,34 +3,42 @@ package com.example.demo.redis;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.function.Consumer;
 
 import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.demo.sse.SseConnectionRegistry;
+import com.example.demo.sse.SseFanoutDispatcher;
+import com.example.demo.sse.SseFrame;
+import com.example.demo.sse.SseReplayBuffer;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Redis 메시지 구독자 클래스입니다.
- * Redis 채널에서 메시지를 수신하면, 연결된 모든 SSE 클라이언트에게 메시지를 브로드캐스팅합니다.
+ * 브로드캐스트 채널의 메시지는 연결된 모든 SSE 클라이언트에게, 이 노드 전용 채널의 메시지는
+ * 수신자로 지정된 사용자의 SSE 연결에게만 전달합니다.
  */
 @Slf4j
 @Component
 public class RedisSubscriber implements MessageListener {
     
-    /**
-     * 연결된 SSE 클라이언트들을 관리하는 맵입니다.
-     * key: 클라이언트 고유 ID
-     * value: SseEmitter 객체
-     */
-    public static Map<String, SseEmitter> sseEmitters = new HashMap<>();
+    private final SseConnectionRegistry connectionRegistry;
+    private final SseFanoutDispatcher fanoutDispatcher;
+    private final SseReplayBuffer replayBuffer;
+
+    public RedisSubscriber(SseConnectionRegistry connectionRegistry, SseFanoutDispatcher fanoutDispatcher,
+                           SseReplayBuffer replayBuffer) {
+        this.connectionRegistry = connectionRegistry;
+        this.fanoutDispatcher = fanoutDispatcher;
+        this.replayBuffer = replayBuffer;
+    }
 
     /**
      * Redis 채널로부터 메시지를 수신했을 때 호출되는 메서드입니다.
-     * 수신된 메시지를 모든 연결된 SSE 클라이언트에게 전달합니다.
+     * 수신된 메시지를 수신자 지정 여부에 따라 모든 클라이언트 또는 수신자의 클라이언트에게 전달합니다.
      * 
      * @param message Redis로부터 수신된 메시지
      * @param pattern 메시지가 수신된 채널 패턴
@@ -38,46 +46,37 @@ public class RedisSubscriber implements MessageListener {
     @Override
     public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
         try {
-            // Redis 메시지를 UTF-8 문자열로 변환
-            String msg = new String(message.getBody(), StandardCharsets.UTF_8);
-            log.info("수신된 메시지: {}", msg);
-            
-            // 동시성 문제를 피하기 위해 맵의 복사본 생성
-            Map<String, SseEmitter> emitters = new HashMap<>(sseEmitters);
+            byte[] body = message.getBody();
+            if (log.isDebugEnabled()) {
+                log.debug("수신된 메시지: {}", new String(body, StandardCharsets.UTF_8));
+            }
             
-            // 모든 연결된 클라이언트에게 메시지 전송
-            emitters.forEach((id, emitter) -> {
-                try {
-                    if (emitter != null) {
-                        // 동시성 제어를 위한 동기화 블록
-                        synchronized (emitter) {
-                            try {
-                                // SSE 이벤트 생성 및 전송
-                                emitter.send(SseEmitter.event()
-                                        .name("notification")  // 이벤트 이름
-                                        .data(msg));          // 전송할 데이터
-                            } catch (IllegalStateException e) {
-                                // 이미 닫힌 연결인 경우
-                                log.debug("이미 닫힌 연결입니다. 클라이언트 ID: {}", id);
-                                emitter.complete();
-                                sseEmitters.remove(id);
-                            } catch (Exception e) {
-                                // 메시지 전송 중 오류 발생 시
-                                log.error("클라이언트 {}에게 메시지 전송 중 오류 발생: {}", id, e.getMessage());
-                                emitter.completeWithError(e);
-                                sseEmitters.remove(id);
-                            }
-                        }
-                    }
-                } catch (Exception e) {
-                    // 예상치 못한 오류 처리
-                    log.error("클라이언트 {} 처리 중 예상치 못한 오류 발생: {}", id, e.getMessage());
-                    if (emitter != null) {
-                        emitter.completeWithError(e);
-                        sseEmitters.remove(id);
-                    }
+            NotificationEnvelope envelope = NotificationEnvelope.decode(body);
+            if (envelope == null) {
+                log.warn("잘못된 형식의 알림 메시지를 무시합니다.");
+                return;
+            }
+            String recipientId = envelope.recipientId();
+
+            // Redis 메시지 본문(UTF-8)으로 SSE 프레임을 한 번만 직렬화하고, 모든 클라이언트 대기열이 이를 공유합니다.
+            // 실제 전송은 fan-out 워커가 수행하므로 Redis 리스너 스레드는 느린 클라이언트를 기다리지 않습니다.
+            Consumer<SseFrame> delivery = recipientId != null
+                    ? frame -> fanoutDispatcher.sendToUser(recipientId, frame)
+                    : fanoutDispatcher::broadcast;
+            String eventName = envelope.eventName();
+            if (NotificationPublisher.UNREAD_COUNT_EVENT.equals(eventName)) {
+                // 읽지 않은 수는 최신 값만 의미가 있으므로 재전송하지 않으며, COALESCE 정책에서는 대기열에 최신 값 하나만 남깁니다.
+                // 이 노드에 수신자의 연결이 없으면 프레임을 만들지 않습니다.
+                if (recipientId != null && connectionRegistry.connectionsOf(recipientId).isEmpty()) {
+                    return;
                 }
-            });
+                String coalesceKey = eventName + (recipientId != null ? ":user" : ":broadcast");
+                delivery.accept(SseFrame.ofUtf8(eventName, envelope.payload(), coalesceKey));
+            } else {
+                // 알림과 읽음 처리 이벤트에는 이벤트 ID가 붙고 재연결 시 재전송할 수 있도록 링 버퍼에도 보관됩니다.
+                // 연결이 막 끊긴 수신자가 이 노드로 재연결할 수 있으므로, 지금 연결이 없어도 버퍼에는 저장합니다.
+                replayBuffer.append(eventName, envelope.payload(), recipientId, delivery);
+            }
         } catch (Exception e) {
             // 메시지 처리 중 발생한 오류 로깅
             log.error("메시지 처리 중 오류 발생: {}", e.getMessage(), e);
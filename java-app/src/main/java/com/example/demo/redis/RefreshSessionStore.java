@@ -0,0 +1,115 @@
+package com.example.demo.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 리프레시 토큰 세션을 Redis에 저장합니다. 로그인한 기기마다 세션이 하나씩 만들어집니다.
+ *
+ * 키: auth:refresh:{토큰 SHA-256} = 사용자 이름 (TTL = jwt.refresh-token.expiration-days)
+ *     auth:refresh:user:{사용자 이름} = 그 사용자의 세션 해시 집합 (전체 로그아웃용)
+ * 토큰 원문은 저장하지 않고 해시만 저장합니다.
+ * 토큰 갱신(rotate)은 Lua 스크립트 한 번으로 이전 세션을 지우고 새 세션을 만들므로,
+ * 같은 리프레시 토큰으로 동시에 갱신을 요청해도 한 요청만 성공합니다.
+ */
+@Component
+public class RefreshSessionStore {
+
+    private static final String KEY_PREFIX = "auth:refresh:";
+    private static final String USER_KEY_PREFIX = "auth:refresh:user:";
+
+    // KEYS: 이전 세션, 새 세션, 사용자 세션 집합 / ARGV: 사용자 이름, TTL(ms), 이전 해시, 새 해시
+    private static final RedisScript<Long> ROTATE = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end
+            redis.call('DEL', KEYS[1])
+            redis.call('SET', KEYS[2], ARGV[1], 'PX', ARGV[2])
+            redis.call('SREM', KEYS[3], ARGV[3])
+            redis.call('SADD', KEYS[3], ARGV[4])
+            redis.call('PEXPIRE', KEYS[3], ARGV[2])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    public RefreshSessionStore(StringRedisTemplate redisTemplate,
+                               @Value("${jwt.refresh-token.expiration-days:7}") int refreshTokenDays) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofDays(refreshTokenDays);
+    }
+
+    /**
+     * 새 세션을 만듭니다. 같은 사용자의 다른 세션은 그대로 유지됩니다.
+     */
+    public void create(String username, String refreshToken) {
+        String hash = hash(refreshToken);
+        byte[] sessionKey = (KEY_PREFIX + hash).getBytes(StandardCharsets.UTF_8);
+        byte[] userKey = (USER_KEY_PREFIX + username).getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().setEx(sessionKey, ttl.toSeconds(), username.getBytes(StandardCharsets.UTF_8));
+            connection.setCommands().sAdd(userKey, hash.getBytes(StandardCharsets.UTF_8));
+            connection.keyCommands().expire(userKey, ttl.toSeconds());
+            return null;
+        });
+    }
+
+    /**
+     * 이전 토큰의 세션을 새 토큰의 세션으로 바꿉니다.
+     * @return 이전 토큰이 해당 사용자의 유효한 세션이었으면 true (이미 갱신/로그아웃되었으면 false)
+     */
+    public boolean rotate(String username, String oldRefreshToken, String newRefreshToken) {
+        String oldHash = hash(oldRefreshToken);
+        String newHash = hash(newRefreshToken);
+        Long rotated = redisTemplate.execute(ROTATE,
+                List.of(KEY_PREFIX + oldHash, KEY_PREFIX + newHash, USER_KEY_PREFIX + username),
+                username, Long.toString(ttl.toMillis()), oldHash, newHash);
+        return rotated != null && rotated == 1;
+    }
+
+    /**
+     * 토큰 하나의 세션(한 기기)을 지웁니다.
+     */
+    public void revoke(String username, String refreshToken) {
+        String hash = hash(refreshToken);
+        redisTemplate.delete(KEY_PREFIX + hash);
+        redisTemplate.opsForSet().remove(USER_KEY_PREFIX + username, hash);
+    }
+
+    /**
+     * 사용자의 모든 세션을 지웁니다.
+     */
+    public void revokeAll(String username) {
+        String userKey = USER_KEY_PREFIX + username;
+        Set<String> hashes = redisTemplate.opsForSet().members(userKey);
+        List<String> keys = new ArrayList<>();
+        keys.add(userKey);
+        if (hashes != null) {
+            for (String hash : hashes) {
+                keys.add(KEY_PREFIX + hash);
+            }
+        }
+        redisTemplate.delete(keys);
+    }
+
+    private static String hash(String refreshToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
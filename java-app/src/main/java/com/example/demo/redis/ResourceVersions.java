@@ -0,0 +1,112 @@
+package com.example.demo.redis;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 리소스(아이템, 알림 등)별 버전 번호입니다. 데이터가 바뀔 때마다 커밋 후에 증가하며, 모든 노드가 Redis의 같은 값을 읽습니다.
+ * 조건부 요청(ETag)은 DB를 조회하지 않고 이 번호만으로 응답이 바뀌었는지 판단합니다.
+ *
+ * 키: version:{리소스} = 버전 번호. 키가 없으면(Redis 초기화 등) 현재 시각(ms)에서 시작하므로
+ * 이전에 발급한 ETag와 같은 번호가 다시 나오지 않습니다.
+ * Redis에 연결할 수 없으면 버전을 알 수 없으므로(null) 조건부 요청을 처리하지 않습니다.
+ *
+ * 이 노드가 본 버전이 바뀌면 {@link #onChange}로 등록한 작업(메모리 캐시 비우기 등)을 실행합니다.
+ * 다른 노드의 변경 알림(Pub/Sub)보다 새 버전을 먼저 보더라도 이전 내용에 새 ETag가 붙지 않습니다.
+ */
+@Slf4j
+@Component
+public class ResourceVersions {
+
+    public static final String ITEMS = "items";
+    public static final String NOTIFICATIONS = "notifications";
+
+    private static final String KEY_PREFIX = "version:";
+
+    // KEYS: 버전 키 / ARGV: 키가 없을 때의 시작 값
+    private static final RedisScript<Long> BUMP = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then redis.call('SET', KEYS[1], ARGV[1]) end
+            return redis.call('INCR', KEYS[1])
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Map<String, Long> lastSeen = new ConcurrentHashMap<>();
+    private final Map<String, List<Runnable>> listeners = new ConcurrentHashMap<>();
+
+    public ResourceVersions(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * @return 현재 버전, Redis에 연결할 수 없으면 null
+     */
+    public Long current(String resource) {
+        String key = KEY_PREFIX + resource;
+        try {
+            String value = redisTemplate.opsForValue().get(key);
+            if (value == null) {
+                redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(System.currentTimeMillis()));
+                value = redisTemplate.opsForValue().get(key);
+            }
+            long version = Long.parseLong(value);
+            observe(resource, version);
+            return version;
+        } catch (DataAccessException | NumberFormatException e) {
+            log.warn("리소스 버전 조회 실패 ({}): {}", resource, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 버전을 올립니다. 트랜잭션 안에서 호출하면 커밋된 뒤에 올리므로, 새 버전으로 이전 데이터를 읽는 일이 없습니다.
+     */
+    public void bump(String resource) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(resource);
+                }
+            });
+        } else {
+            increment(resource);
+        }
+    }
+
+    /**
+     * 이 노드가 본 리소스 버전이 바뀌었을 때 실행할 작업을 등록합니다.
+     */
+    public void onChange(String resource, Runnable listener) {
+        listeners.computeIfAbsent(resource, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    private void increment(String resource) {
+        try {
+            Long version = redisTemplate.execute(BUMP, List.of(KEY_PREFIX + resource), String.valueOf(System.currentTimeMillis()));
+            if (version != null) {
+                observe(resource, version);
+            }
+        } catch (DataAccessException e) {
+            log.warn("리소스 버전 갱신 실패 ({}): {}", resource, e.getMessage());
+        }
+    }
+
+    private void observe(String resource, long version) {
+        Long previous = lastSeen.put(resource, version);
+        if (previous != null && previous != version) {
+            listeners.getOrDefault(resource, List.of()).forEach(Runnable::run);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.demo.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 읽지 않은 알림 수를 계산하는 카운터들을 Redis에 유지합니다.
+ *
+ * 키: notification:unread:user:{userId} (사용자에게 온 읽지 않은 알림 수)
+ *     notification:broadcast:total (전체 브로드캐스트 수)
+ *     notification:broadcast:read:{userId} (사용자가 읽은 브로드캐스트 수)
+ * 브로드캐스트의 읽음 상태는 사용자마다 다르므로, 사용자의 읽지 않은 브로드캐스트 수는 전체 - 읽은 수로 계산합니다.
+ * 카운터는 처음 조회될 때 DB에서 계산해 만들어지고, 이후에는 키가 있을 때만 증감합니다.
+ *
+ * DB 계산(생성 또는 재계산) 중에 커밋된 변경을 잃거나 덮어쓰지 않도록, 계산 전에 키마다 대기 해시
+ * (notification:pending:{키})에 계산 토큰 필드를 만들고 그동안의 증감을 그 필드에 누적했다가 계산 값에 더해 반영합니다.
+ * 계산 시작 직전에 커밋되어 DB 계산에도 포함된 변경은 두 번 반영될 수 있으며, 이는 다음 재계산에서 바로잡힙니다.
+ */
+@Component
+public class UnreadCounter {
+
+    private static final String USER_KEY_PREFIX = "notification:unread:user:";
+    private static final String BROADCAST_READ_KEY_PREFIX = "notification:broadcast:read:";
+    public static final String BROADCAST_TOTAL_KEY = "notification:broadcast:total";
+    private static final String PENDING_KEY_PREFIX = "notification:pending:";
+
+    // DB 계산이 이 시간 안에 끝나지 않으면 그동안의 증감을 모를 수 있으므로 계산 값을 반영하지 않습니다.
+    private static final Duration PENDING_WINDOW = Duration.ofSeconds(60);
+
+    // 진행 중인 DB 계산마다 증감량을 누적하고, 키가 있을 때만 증감하되 0 아래로 내려가지 않게 합니다. 키가 없으면 nil을 반환합니다.
+    private static final byte[] ADD_IF_PRESENT = """
+            for _, token in ipairs(redis.call('HKEYS', KEYS[2])) do
+                redis.call('HINCRBY', KEYS[2], token, ARGV[1])
+            end
+            if redis.call('EXISTS', KEYS[1]) == 0 then return nil end
+            local value = redis.call('INCRBY', KEYS[1], ARGV[1])
+            if value < 0 then
+                redis.call('SET', KEYS[1], 0, 'KEEPTTL')
+                return 0
+            end
+            return value
+            """.getBytes(StandardCharsets.UTF_8);
+
+    // 계산 값에 계산 중 누적된 증감량을 더해 카운터를 만듭니다. 다른 요청이 먼저 만들었으면 그 값을 반환합니다.
+    // 대기 필드가 만료되었으면(계산이 너무 오래 걸림) 만들지 않고 nil을 반환합니다.
+    private static final byte[] INITIALIZE = """
+            local delta = redis.call('HGET', KEYS[2], ARGV[1])
+            if not delta then return nil end
+            redis.call('HDEL', KEYS[2], ARGV[1])
+            local current = redis.call('GET', KEYS[1])
+            if current then return tonumber(current) end
+            local value = math.max(0, tonumber(ARGV[2]) + tonumber(delta))
+            redis.call('SET', KEYS[1], value, 'PX', ARGV[3])
+            return value
+            """.getBytes(StandardCharsets.UTF_8);
+
+    // 있는 카운터만 계산 값 + 계산 중 누적된 증감량으로 바꿉니다. 남은 TTL은 유지합니다.
+    private static final byte[] RECONCILE = """
+            local delta = redis.call('HGET', KEYS[2], ARGV[1])
+            if not delta then return nil end
+            redis.call('HDEL', KEYS[2], ARGV[1])
+            if redis.call('EXISTS', KEYS[1]) == 0 then return nil end
+            local value = math.max(0, tonumber(ARGV[2]) + tonumber(delta))
+            redis.call('SET', KEYS[1], value, 'KEEPTTL')
+            return value
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    public UnreadCounter(StringRedisTemplate redisTemplate,
+                         @Value("${notification.unread.ttl-hours:168}") long ttlHours) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofHours(ttlHours);
+    }
+
+    /** 사용자에게 온 읽지 않은 알림 수 키 */
+    public static String userKey(String userId) {
+        return USER_KEY_PREFIX + userId;
+    }
+
+    /** 사용자가 읽은 브로드캐스트 수 키 */
+    public static String broadcastReadKey(String userId) {
+        return BROADCAST_READ_KEY_PREFIX + userId;
+    }
+
+    /**
+     * 사용자 카운터 키에서 사용자 ID를 꺼냅니다.
+     * @return 사용자 ID (전체 브로드캐스트 수 키면 null)
+     */
+    public static String userIdOf(String key) {
+        if (key.startsWith(USER_KEY_PREFIX)) {
+            return key.substring(USER_KEY_PREFIX.length());
+        }
+        if (key.startsWith(BROADCAST_READ_KEY_PREFIX)) {
+            return key.substring(BROADCAST_READ_KEY_PREFIX.length());
+        }
+        return null;
+    }
+
+    /**
+     * 여러 카운터를 한 번에 조회합니다.
+     * @return 키 순서대로의 값 (키가 없으면 null)
+     */
+    public List<Long> get(List<String> keys) {
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        List<Long> counts = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            String value = values != null ? values.get(i) : null;
+            counts.add(value != null ? Long.valueOf(value) : null);
+        }
+        return counts;
+    }
+
+    /**
+     * 카운터들의 DB 계산을 시작합니다. 반드시 DB 계산 전에 호출해야 그 사이에 커밋된 변경이 누적됩니다.
+     * @return {@link #initialize}/{@link #reconcile}에 넘길 계산 토큰
+     */
+    public String beginCount(Collection<String> keys) {
+        String token = UUID.randomUUID().toString();
+        byte[] field = bytes(token);
+        byte[] zero = bytes("0");
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                byte[] pendingKey = bytes(PENDING_KEY_PREFIX + key);
+                connection.hashCommands().hSet(pendingKey, field, zero);
+                connection.keyCommands().pExpire(pendingKey, PENDING_WINDOW.toMillis());
+            }
+            return null;
+        });
+        return token;
+    }
+
+    /**
+     * DB에서 계산한 값에 계산 중의 증감을 더해 카운터를 만듭니다. 그동안 다른 요청이 먼저 만들었으면 그 값을 유지합니다.
+     * @param token {@link #beginCount}가 반환한 계산 토큰
+     * @param counts 키별 DB 계산 값
+     * @return 키별 카운터 값 (계산이 너무 오래 걸려 만들지 않은 키는 제외)
+     */
+    public Map<String, Long> initialize(String token, Map<String, Long> counts) {
+        return finishCount(INITIALIZE, token, counts, bytes(Long.toString(ttl.toMillis())));
+    }
+
+    /**
+     * DB에서 다시 계산한 값에 계산 중의 증감을 더해 있는 카운터들을 바꿉니다. 남은 TTL은 유지합니다.
+     * @param token {@link #beginCount}가 반환한 계산 토큰
+     * @param counts 키별 DB 계산 값
+     */
+    public void reconcile(String token, Map<String, Long> counts) {
+        finishCount(RECONCILE, token, counts);
+    }
+
+    private Map<String, Long> finishCount(byte[] script, String token, Map<String, Long> counts, byte[]... extraArgs) {
+        List<String> keys = new ArrayList<>(counts.keySet());
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                byte[][] keysAndArgs = new byte[4 + extraArgs.length][];
+                keysAndArgs[0] = bytes(key);
+                keysAndArgs[1] = bytes(PENDING_KEY_PREFIX + key);
+                keysAndArgs[2] = bytes(token);
+                keysAndArgs[3] = bytes(Long.toString(counts.get(key)));
+                System.arraycopy(extraArgs, 0, keysAndArgs, 4, extraArgs.length);
+                connection.scriptingCommands().eval(script, ReturnType.INTEGER, 2, keysAndArgs);
+            }
+            return null;
+        });
+        Map<String, Long> values = new HashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (results.get(i) instanceof Long value) {
+                values.put(keys.get(i), value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 여러 카운터를 파이프라인으로 증감합니다. 키가 없는 카운터는 건드리지 않습니다.
+     * @param deltas 키별 증감량
+     * @return 키별 변경 후 값 (키가 없던 카운터는 제외)
+     */
+    public Map<String, Long> addIfPresent(Map<String, Long> deltas) {
+        List<String> keys = new ArrayList<>(deltas.keySet());
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.scriptingCommands().eval(ADD_IF_PRESENT, ReturnType.INTEGER, 2,
+                        bytes(key), bytes(PENDING_KEY_PREFIX + key), bytes(Long.toString(deltas.get(key))));
+            }
+            return null;
+        });
+        Map<String, Long> values = new HashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (results.get(i) instanceof Long value) {
+                values.put(keys.get(i), value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 현재 Redis에 카운터(읽지 않은 알림 수 또는 읽은 브로드캐스트 수)가 있는 사용자 ID들을 반환합니다.
+     */
+    public Set<String> trackedUsers() {
+        Set<String> users = new HashSet<>();
+        for (String prefix : List.of(USER_KEY_PREFIX, BROADCAST_READ_KEY_PREFIX)) {
+            ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(1000).build();
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                cursor.forEachRemaining(key -> users.add(key.substring(prefix.length())));
+            }
+        }
+        return users;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
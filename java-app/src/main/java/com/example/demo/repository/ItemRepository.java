@@ -1,11 +1,82 @@
 package com.example.demo.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.demo.entity.Item;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    Page<Item> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String name, String description, Pageable pageable);
-}
\ No newline at end of file
+
+    // 전체 개수를 세지 않는 목록 조회 (size + 1개를 읽어 다음 페이지 존재 여부만 판단)
+    Slice<Item> findAllBy(Pageable pageable);
+
+    // id 순 키셋 페이지네이션 (검색 색인 생성에도 사용)
+    List<Item> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Item> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
+
+    // 이름순 키셋 페이지네이션 (idx_item_name_id, V7 마이그레이션)
+    @Query(value = """
+            SELECT i.id, i.name, i.description FROM item i
+            WHERE (i.name, i.id) > (:name, :id)
+            ORDER BY i.name, i.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Item> findByNameAfter(@Param("name") String name, @Param("id") long id, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT i.id, i.name, i.description FROM item i
+            WHERE (i.name, i.id) < (:name, :id)
+            ORDER BY i.name DESC, i.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Item> findByNameBefore(@Param("name") String name, @Param("id") long id, @Param("limit") int limit);
+
+    /**
+     * 통계 정보의 아이템 행 수 추정치 (ANALYZE/autovacuum 때 갱신, 한 번도 분석하지 않았으면 -1 또는 0)
+     */
+    @Query(value = "SELECT reltuples::bigint FROM pg_class WHERE oid = 'item'::regclass", nativeQuery = true)
+    long estimateCount();
+
+    // search_vector GIN 인덱스와 name 트라이그램 인덱스를 BitmapOr로 함께 사용합니다. (V6 마이그레이션)
+    String SEARCH_CONDITION = """
+            i.search_vector @@ to_tsquery('simple', :tsQuery)
+               OR i.name ILIKE :namePattern
+            """;
+
+    /**
+     * 검색어와 일치하는 아이템을 관련도 순으로 조회합니다.
+     * 전문 검색 순위(ts_rank, 이름 일치가 설명 일치보다 높음)가 같으면 이름의 유사도 순으로 정렬합니다.
+     * pageable에는 정렬을 넣지 않아야 합니다.
+     * @param tsQuery 접두어 tsquery (예: "사과:* & 주스:*")
+     * @param namePattern 이름 부분 일치 패턴 (예: "%사과 주스%")
+     */
+    @Query(value = "SELECT i.id, i.name, i.description FROM item i WHERE " + SEARCH_CONDITION + """
+            ORDER BY ts_rank(i.search_vector, to_tsquery('simple', :tsQuery)) DESC,
+                     similarity(i.name, :text) DESC,
+                     i.id DESC
+            """,
+            countQuery = "SELECT count(*) FROM item i WHERE " + SEARCH_CONDITION,
+            nativeQuery = true)
+    Page<Item> searchByRelevance(@Param("tsQuery") String tsQuery,
+                                 @Param("namePattern") String namePattern,
+                                 @Param("text") String text,
+                                 Pageable pageable);
+
+    /**
+     * 검색어와 일치하는 아이템을 pageable의 정렬(컬럼명) 순으로 조회합니다.
+     */
+    @Query(value = "SELECT i.id, i.name, i.description FROM item i WHERE " + SEARCH_CONDITION,
+            countQuery = "SELECT count(*) FROM item i WHERE " + SEARCH_CONDITION,
+            nativeQuery = true)
+    Page<Item> search(@Param("tsQuery") String tsQuery,
+                      @Param("namePattern") String namePattern,
+                      Pageable pageable);
+}
@@ -1,9 +1,16 @@
 package com.example.demo.repository;
 
 import com.example.demo.entity.Notification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     
@@ -13,4 +20,189 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
      * @return 페이징된 알림 목록
      */
     Page<Notification> findAllByOrderByCreatedAtDesc(Pageable pageable);
+
+    /**
+     * 사용자의 받은 알림함(본인에게 온 알림 + 브로드캐스트)에서 커서 이전의 알림을 최신순으로 조회합니다.
+     * OFFSET 없이 (created_at, id) 기준으로 이어서 읽으므로 몇 페이지를 넘기든 조회 비용이 같습니다.
+     * 두 조건을 UNION ALL로 나누어 각각 idx_notifications_recipient_created_id 범위 스캔으로 처리합니다.
+     * @param recipientId 사용자 ID
+     * @param createdAt 커서의 생성 일시 (이 값보다 이전 알림만 조회)
+     * @param id 커서의 알림 ID (생성 일시가 같을 때 이 값보다 작은 알림만 조회)
+     * @param limit 최대 조회 수
+     * @return 알림 목록 (created_at, id 내림차순)
+     */
+    @Query(value = """
+            (SELECT * FROM notifications
+              WHERE recipient_id = :recipientId AND (created_at, id) < (:createdAt, :id)
+              ORDER BY created_at DESC, id DESC LIMIT :limit)
+            UNION ALL
+            (SELECT * FROM notifications
+              WHERE recipient_id IS NULL AND (created_at, id) < (:createdAt, :id)
+              ORDER BY created_at DESC, id DESC LIMIT :limit)
+            ORDER BY created_at DESC, id DESC LIMIT :limit
+            """, nativeQuery = true)
+    List<Notification> findInboxBefore(@Param("recipientId") String recipientId,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") long id,
+                                       @Param("limit") int limit);
+
+    /**
+     * 사용자에게 온 읽지 않은 알림 수를 셉니다. (idx_notifications_unread_recipient 부분 인덱스 사용)
+     */
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipientId = :recipientId AND n.isRead = false")
+    long countUnreadByRecipientId(@Param("recipientId") String recipientId);
+
+    /**
+     * 전체 브로드캐스트 알림 수를 셉니다. (사용자의 읽지 않은 브로드캐스트 수 = 전체 - 그 사용자가 읽은 수)
+     */
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipientId IS NULL")
+    long countBroadcasts();
+
+    /**
+     * 사용자가 읽은 브로드캐스트 알림 수를 셉니다.
+     * 읽음 위치(notification_broadcast_watermarks)와 그 이전의 브로드캐스트는 모두 읽은 것으로 세고,
+     * 그 뒤의 브로드캐스트는 하나씩 읽은 기록(notification_reads)으로 셉니다.
+     */
+    @Query(value = """
+            SELECT (SELECT COUNT(*) FROM notifications n
+                      JOIN notification_broadcast_watermarks w ON w.user_id = :userId
+                     WHERE n.recipient_id IS NULL
+                       AND (n.created_at, n.id) <= (w.read_up_to_created_at, w.read_up_to_id))
+                 + (SELECT COUNT(*) FROM notification_reads r
+                      JOIN notifications n ON n.id = r.notification_id
+                     WHERE r.user_id = :userId
+                       AND NOT EXISTS (SELECT 1 FROM notification_broadcast_watermarks w
+                                        WHERE w.user_id = r.user_id
+                                          AND (n.created_at, n.id) <= (w.read_up_to_created_at, w.read_up_to_id)))
+            """, nativeQuery = true)
+    long countBroadcastReads(@Param("userId") String userId);
+
+    /**
+     * 여러 사용자가 읽은 브로드캐스트 알림 수를 한 번에 셉니다. 읽은 브로드캐스트가 없는 사용자는 결과에 없습니다.
+     * 세는 방법은 {@link #countBroadcastReads(String)}와 같습니다.
+     * @return [사용자 ID, 개수] 목록
+     */
+    @Query(value = """
+            SELECT user_id, SUM(read_count) FROM (
+                SELECT w.user_id, COUNT(*) AS read_count FROM notification_broadcast_watermarks w
+                  JOIN notifications n ON n.recipient_id IS NULL
+                   AND (n.created_at, n.id) <= (w.read_up_to_created_at, w.read_up_to_id)
+                 WHERE w.user_id IN (:userIds)
+                 GROUP BY w.user_id
+                UNION ALL
+                SELECT r.user_id, COUNT(*) FROM notification_reads r
+                  JOIN notifications n ON n.id = r.notification_id
+                 WHERE r.user_id IN (:userIds)
+                   AND NOT EXISTS (SELECT 1 FROM notification_broadcast_watermarks w
+                                    WHERE w.user_id = r.user_id
+                                      AND (n.created_at, n.id) <= (w.read_up_to_created_at, w.read_up_to_id))
+                 GROUP BY r.user_id) reads
+             GROUP BY user_id
+            """, nativeQuery = true)
+    List<Object[]> countBroadcastReadsByUserIds(@Param("userIds") Collection<String> userIds);
+
+    /**
+     * 사용자가 주어진 브로드캐스트 알림들을 읽은 일시를 조회합니다. (알림함 표시용)
+     * 읽음 위치 이전의 알림은 마지막으로 일괄 읽음 처리한 일시를 반환합니다.
+     * @return 읽은 알림의 [알림 ID, 읽은 일시] 목록
+     */
+    @Query(value = """
+            SELECT notification_id, read_at FROM notification_reads
+             WHERE user_id = :userId AND notification_id IN (:ids)
+            UNION ALL
+            SELECT n.id, w.read_at FROM notifications n
+              JOIN notification_broadcast_watermarks w ON w.user_id = :userId
+             WHERE n.id IN (:ids)
+               AND (n.created_at, n.id) <= (w.read_up_to_created_at, w.read_up_to_id)
+            """, nativeQuery = true)
+    List<Object[]> findBroadcastReads(@Param("userId") String userId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * 여러 사용자의 읽지 않은 알림 수를 한 번에 셉니다. 읽지 않은 알림이 없는 사용자는 결과에 없습니다.
+     * @return [수신자 ID, 개수] 목록
+     */
+    @Query("SELECT n.recipientId, COUNT(n) FROM Notification n WHERE n.isRead = false AND n.recipientId IN :recipientIds GROUP BY n.recipientId")
+    List<Object[]> countUnreadByRecipientIds(@Param("recipientIds") Collection<String> recipientIds);
+
+    /**
+     * 사용자의 알림함(본인에게 온 알림 + 브로드캐스트)에 속한 알림들을 문장 하나로 읽음 처리합니다.
+     * 본인에게 온 알림은 is_read를 바꾸고, 브로드캐스트는 공유 행을 바꾸지 않고 사용자별 읽음 기록(notification_reads)을 추가합니다.
+     * 이미 읽은 알림(읽음 위치 이전의 브로드캐스트 포함)과 다른 사용자의 알림은 바뀌지 않습니다.
+     * @return 새로 읽음 처리된 알림의 [ID, 수신자 ID(브로드캐스트는 null)] 목록
+     */
+    @Query(value = """
+            WITH updated AS (
+                UPDATE notifications SET is_read = true, read_at = :readAt
+                 WHERE id IN (:ids) AND is_read = false
+                   AND recipient_id = :recipientId
+                RETURNING id, recipient_id),
+            read_broadcasts AS (
+                INSERT INTO notification_reads (user_id, notification_id, read_at)
+                SELECT :recipientId, n.id, :readAt FROM notifications n
+                 WHERE n.id IN (:ids) AND n.recipient_id IS NULL
+                   AND NOT EXISTS (SELECT 1 FROM notification_broadcast_watermarks w
+                                    WHERE w.user_id = :recipientId
+                                      AND (n.created_at, n.id) <= (w.read_up_to_created_at, w.read_up_to_id))
+                ON CONFLICT DO NOTHING
+                RETURNING notification_id)
+            SELECT id, recipient_id FROM updated
+            UNION ALL
+            SELECT notification_id, CAST(NULL AS VARCHAR) FROM read_broadcasts
+            """, nativeQuery = true)
+    List<Object[]> markAsRead(@Param("ids") Collection<Long> ids,
+                              @Param("recipientId") String recipientId,
+                              @Param("readAt") LocalDateTime readAt);
+
+    /**
+     * 사용자의 알림함에서 커서 위치와 그 이전의 읽지 않은 알림을 문장 하나로 모두 읽음 처리합니다.
+     * 본인에게 온 알림은 idx_notifications_unread_recipient 부분 인덱스로 찾아 is_read를 바꾸고,
+     * 브로드캐스트는 행을 추가하지 않고 사용자의 읽음 위치를 커서 이전의 가장 최신 브로드캐스트로 옮깁니다. (앞으로만 이동)
+     * 새 읽음 위치에 포함된 하나씩 읽은 기록은 지웁니다.
+     * 읽음 위치는 뒤로 가지 않으며, 같은 사용자의 일괄 읽음 처리가 동시에 겹쳐 반환 개수가 중복되면 카운터 재계산으로 바로잡힙니다.
+     * @param createdAt 커서의 생성 일시
+     * @param id 커서의 알림 ID
+     * @return [본인 알림 읽음 처리 수, 브로드캐스트 읽음 처리 수] 한 행
+     */
+    @Query(value = """
+            WITH updated AS (
+                UPDATE notifications SET is_read = true, read_at = :readAt
+                 WHERE is_read = false
+                   AND recipient_id = :recipientId
+                   AND (created_at, id) <= (:createdAt, :id)
+                RETURNING id),
+            target AS (
+                SELECT created_at, id FROM notifications
+                 WHERE recipient_id IS NULL AND (created_at, id) <= (:createdAt, :id)
+                 ORDER BY created_at DESC, id DESC LIMIT 1),
+            previous AS (
+                SELECT read_up_to_created_at, read_up_to_id FROM notification_broadcast_watermarks
+                 WHERE user_id = :recipientId),
+            watermark AS (
+                INSERT INTO notification_broadcast_watermarks (user_id, read_up_to_created_at, read_up_to_id, read_at)
+                SELECT :recipientId, t.created_at, t.id, :readAt FROM target t
+                ON CONFLICT (user_id) DO UPDATE
+                   SET read_up_to_created_at = EXCLUDED.read_up_to_created_at,
+                       read_up_to_id = EXCLUDED.read_up_to_id,
+                       read_at = EXCLUDED.read_at
+                 WHERE (notification_broadcast_watermarks.read_up_to_created_at, notification_broadcast_watermarks.read_up_to_id)
+                     < (EXCLUDED.read_up_to_created_at, EXCLUDED.read_up_to_id)
+                RETURNING read_up_to_created_at, read_up_to_id),
+            covered_reads AS (
+                DELETE FROM notification_reads r USING notifications n, watermark w
+                 WHERE r.user_id = :recipientId AND n.id = r.notification_id
+                   AND (n.created_at, n.id) <= (w.read_up_to_created_at, w.read_up_to_id)
+                RETURNING r.notification_id)
+            SELECT (SELECT COUNT(*) FROM updated),
+                   (SELECT COUNT(*) FROM notifications n, watermark w
+                     WHERE n.recipient_id IS NULL
+                       AND (n.created_at, n.id) <= (w.read_up_to_created_at, w.read_up_to_id)
+                       AND NOT EXISTS (SELECT 1 FROM previous p
+                                        WHERE (n.created_at, n.id) <= (p.read_up_to_created_at, p.read_up_to_id))
+                       AND NOT EXISTS (SELECT 1 FROM notification_reads r
+                                        WHERE r.user_id = :recipientId AND r.notification_id = n.id))
+            """, nativeQuery = true)
+    List<Object[]> markAllAsReadUpTo(@Param("recipientId") String recipientId,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") long id,
+                                     @Param("readAt") LocalDateTime readAt);
 }
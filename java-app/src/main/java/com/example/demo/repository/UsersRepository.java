@@ -2,9 +2,36 @@ package com.example.demo.repository;
 
 import com.example.demo.entity.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface UsersRepository extends JpaRepository<Users, Long> {
     Optional<Users> findByUsername(String username);
-}
\ No newline at end of file
+
+    /**
+     * 소셜 로그인 사용자를 없으면 만들고, 있으면 그대로 조회합니다. (문장 하나)
+     * 이미 있는 사용자는 다시 쓰지 않으며, 같은 사용자의 첫 로그인이 동시에 들어와도 username 제약 조건 위반이 나지 않습니다.
+     * 다른 트랜잭션이 이 문장이 시작된 뒤에 같은 사용자를 먼저 만들었으면 빈 결과를 반환하므로 다시 호출해야 합니다.
+     */
+    @Query(value = """
+            WITH inserted AS (
+                INSERT INTO users (username, password, role) VALUES (:username, NULL, :role)
+                ON CONFLICT (username) DO NOTHING
+                RETURNING *)
+            SELECT * FROM inserted
+            UNION ALL
+            SELECT * FROM users WHERE username = :username
+            LIMIT 1
+            """, nativeQuery = true)
+    Optional<Users> insertOrFindByUsername(@Param("username") String username, @Param("role") String role);
+
+    // Redis 세션 저장소 도입 전에 저장된 리프레시 토큰이 남아 있을 때만 지웁니다.
+    @Modifying
+    @Transactional
+    @Query("UPDATE Users u SET u.refreshToken = null WHERE u.username = :username AND u.refreshToken IS NOT NULL")
+    int clearRefreshToken(@Param("username") String username);
+}
@@ -0,0 +1,331 @@
+package com.example.demo.search;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.dto.ItemSuggestionDto;
+import com.example.demo.entity.Item;
+import com.example.demo.repository.ItemRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 아이템 이름/설명 단어의 메모리 역색인입니다. 자동 완성 검색을 DB 조회 없이 처리합니다.
+ *
+ * 단어는 정렬된 맵에 저장되므로 검색어의 가장 긴 단어는 접두어 범위 조회 한 번으로 후보를 찾고,
+ * 나머지 단어는 후보 아이템의 단어와 비교합니다. (예: "사과 주" → 사과*로 찾고 주*로 거름)
+ * 가장 긴 단어가 min-prefix-length보다 짧으면 범위가 색인 대부분을 덮으므로 찾지 않고 빈 결과를 반환합니다.
+ * 아이템마다 색인하는 단어 수(max-tokens-per-item)와 단어 길이(max-token-length)를 제한하므로
+ * 긴 설명이 있어도 아이템 하나가 차지하는 메모리는 일정 범위 안에 있습니다.
+ *
+ * 시작할 때 아이템을 id 순으로 나누어 읽어 백그라운드에서 색인하며, 색인이 끝나기 전에는 {@link #isReady()}가 false입니다.
+ * 이 노드의 변경은 ItemService가, 다른 노드의 변경은 Redis 변경 알림(ItemChangeSubscriber)이 반영합니다.
+ * item.search-index.enabled=false(기본값)이면 색인하지 않으며 자동 완성은 DB 검색을 사용합니다.
+ *
+ * 메트릭: item.search.index.size (색인된 아이템 수)
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+
+    private record Entry(String name, String[] nameTokens, String[] descriptionTokens) {
+    }
+
+    private record Match(Long id, String name, int nameHits) {
+    }
+
+    // 이름에서 일치한 단어가 많은 순, 이름이 짧은 순, id 순
+    private static final Comparator<Match> RANK = Comparator.comparingInt(Match::nameHits).reversed()
+            .thenComparingInt(match -> match.name().length())
+            .thenComparing(Match::id);
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final int maxTokensPerItem;
+    private final int maxTokenLength;
+    private final int minPrefixLength;
+    private final int buildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final TreeMap<String, Set<Long>> nameIndex = new TreeMap<>();
+    private final TreeMap<String, Set<Long>> descriptionIndex = new TreeMap<>();
+
+    private volatile boolean building;
+    private volatile boolean ready;
+    // 색인 중에 바뀐 아이템. 이전 배치 내용으로 덮어썼을 수 있으므로 색인이 끝나면 다시 읽습니다.
+    private final Set<Long> changedWhileBuilding = ConcurrentHashMap.newKeySet();
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${item.search-index.enabled:false}") boolean enabled,
+                           @Value("${item.search-index.max-tokens-per-item:32}") int maxTokensPerItem,
+                           @Value("${item.search-index.max-token-length:20}") int maxTokenLength,
+                           @Value("${item.search-index.min-prefix-length:2}") int minPrefixLength,
+                           @Value("${item.search-index.build-batch-size:1000}") int buildBatchSize) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+        this.maxTokensPerItem = maxTokensPerItem;
+        this.maxTokenLength = maxTokenLength;
+        this.minPrefixLength = minPrefixLength;
+        this.buildBatchSize = buildBatchSize;
+        Gauge.builder("item.search.index.size", this, ItemSearchIndex::size)
+                .description("자동 완성 색인에 들어 있는 아이템 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 검색어를 소문자 단어로 나눕니다. 문자와 숫자가 아닌 문자는 모두 구분자입니다.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBuild() {
+        if (enabled) {
+            Thread.ofVirtual().name("item-search-index-build").start(this::build);
+        }
+    }
+
+    private void build() {
+        building = true;
+        long start = System.currentTimeMillis();
+        try {
+            long lastId = 0;
+            List<Item> batch;
+            do {
+                batch = itemRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(buildBatchSize));
+                lock.writeLock().lock();
+                try {
+                    for (Item item : batch) {
+                        index(item);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == buildBatchSize);
+        } catch (RuntimeException e) {
+            building = false;
+            log.error("아이템 검색 색인을 만들지 못했습니다. 자동 완성은 DB 검색을 사용합니다.", e);
+            return;
+        }
+        building = false;
+        for (Long id : changedWhileBuilding) {
+            reload(id);
+        }
+        changedWhileBuilding.clear();
+        ready = true;
+        log.info("아이템 검색 색인 완료: {}개, {}ms", size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 아이템을 색인에 추가하거나 바꿉니다.
+     */
+    public void put(Item item) {
+        if (!enabled) {
+            return;
+        }
+        if (building) {
+            changedWhileBuilding.add(item.getId());
+        }
+        lock.writeLock().lock();
+        try {
+            index(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        if (!enabled) {
+            return;
+        }
+        if (building) {
+            changedWhileBuilding.add(id);
+        }
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 다른 노드에서 바뀐 아이템을 DB에서 다시 읽어 반영합니다.
+     */
+    public void reload(Long id) {
+        if (!enabled) {
+            return;
+        }
+        itemRepository.findById(id).ifPresentOrElse(this::put, () -> remove(id));
+    }
+
+    /**
+     * 검색어의 모든 단어가 이름이나 설명 단어의 접두어인 아이템을 찾습니다.
+     * 이름에서 일치한 단어가 많은 순, 이름이 짧은 순, id 순으로 limit개를 반환합니다.
+     * 후보 전체를 정렬하지 않고 크기가 limit인 힙으로 상위 항목만 남깁니다.
+     */
+    public List<ItemSuggestionDto> suggest(String text, int limit) {
+        List<String> words = tokenize(text).stream()
+                .map(this::truncate)
+                .distinct()
+                .sorted(Comparator.comparingInt(String::length).reversed()) // 후보가 적은 긴 단어부터
+                .toList();
+        if (words.isEmpty() || words.get(0).length() < minPrefixLength || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            // 힙의 머리에는 남은 항목 중 가장 순위가 낮은 항목이 옵니다.
+            PriorityQueue<Match> top = new PriorityQueue<>(limit + 1, RANK.reversed());
+            Set<Long> seen = new HashSet<>();
+            for (TreeMap<String, Set<Long>> index : List.of(nameIndex, descriptionIndex)) {
+                for (Set<Long> posting : prefixRange(index, words.get(0)).values()) {
+                    for (Long id : posting) {
+                        if (!seen.add(id)) {
+                            continue;
+                        }
+                        Match match = match(id, words);
+                        if (match == null) {
+                            continue;
+                        }
+                        if (top.size() < limit) {
+                            top.add(match);
+                        } else if (RANK.compare(match, top.peek()) < 0) {
+                            top.poll();
+                            top.add(match);
+                        }
+                    }
+                }
+            }
+            return top.stream()
+                    .sorted(RANK)
+                    .map(match -> new ItemSuggestionDto(match.id(), match.name()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return 모든 단어가 아이템의 이름이나 설명 단어의 접두어이면 이름에서 일치한 단어 수를 담은 결과, 아니면 null
+     */
+    private Match match(Long id, List<String> words) {
+        Entry entry = entries.get(id);
+        int nameHits = 0;
+        for (String word : words) {
+            if (hasPrefix(entry.nameTokens(), word)) {
+                nameHits++;
+            } else if (!hasPrefix(entry.descriptionTokens(), word)) {
+                return null;
+            }
+        }
+        return new Match(id, entry.name(), nameHits);
+    }
+
+    private static boolean hasPrefix(String[] tokens, String prefix) {
+        for (String token : tokens) {
+            if (token.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static SortedMap<String, Set<Long>> prefixRange(TreeMap<String, Set<Long>> index, String prefix) {
+        return index.subMap(prefix, prefix + Character.MAX_VALUE);
+    }
+
+    // 쓰기 잠금을 잡은 상태에서 호출합니다.
+    private void index(Item item) {
+        unindex(item.getId());
+        String name = item.getName() != null ? item.getName() : "";
+        Set<String> nameTokens = limitedTokens(name, maxTokensPerItem);
+        Set<String> descriptionTokens = limitedTokens(item.getDescription(), maxTokensPerItem - nameTokens.size());
+        Entry entry = new Entry(name, nameTokens.toArray(String[]::new), descriptionTokens.toArray(String[]::new));
+        entries.put(item.getId(), entry);
+        for (String token : entry.nameTokens()) {
+            nameIndex.computeIfAbsent(token, key -> new HashSet<>()).add(item.getId());
+        }
+        for (String token : entry.descriptionTokens()) {
+            descriptionIndex.computeIfAbsent(token, key -> new HashSet<>()).add(item.getId());
+        }
+    }
+
+    // 쓰기 잠금을 잡은 상태에서 호출합니다.
+    private void unindex(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        removePostings(nameIndex, entry.nameTokens(), id);
+        removePostings(descriptionIndex, entry.descriptionTokens(), id);
+    }
+
+    private static void removePostings(TreeMap<String, Set<Long>> index, String[] tokens, Long id) {
+        for (String token : tokens) {
+            Set<Long> posting = index.get(token);
+            if (posting != null && posting.remove(id) && posting.isEmpty()) {
+                index.remove(token);
+            }
+        }
+    }
+
+    private Set<String> limitedTokens(String text, int maxTokens) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : tokenize(text)) {
+            if (tokens.size() >= maxTokens) {
+                break;
+            }
+            tokens.add(truncate(word));
+        }
+        return tokens;
+    }
+
+    private String truncate(String word) {
+        return word.length() > maxTokenLength ? word.substring(0, maxTokenLength) : word;
+    }
+}
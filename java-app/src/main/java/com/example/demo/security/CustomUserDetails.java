@@ -13,6 +13,13 @@ public class CustomUserDetails implements UserDetails {
 
     private final Users user;
 
+    /**
+     * 액세스 토큰의 클레임만으로 인증 주체를 만듭니다. DB를 조회하지 않으므로 ID와 비밀번호는 비어 있습니다.
+     */
+    public static CustomUserDetails fromClaims(String username, String role) {
+        return new CustomUserDetails(Users.builder().username(username).role(role).build());
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority(user.getRole()));
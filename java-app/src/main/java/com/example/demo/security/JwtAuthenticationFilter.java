@@ -7,7 +7,7 @@ import io.micrometer.common.lang.NonNull;
 
 import jakarta.servlet.*;
 import jakarta.servlet.http.*;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,12 +16,32 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * 요청의 액세스 토큰을 검증하고 인증 정보를 설정합니다.
+ *
+ * 인증 주체는 security.principal-source 설정에 따라 토큰 클레임(CLAIMS), 캐시(CACHE), DB(DATABASE)에서 만듭니다.
+ * 기본값인 CLAIMS와 캐시 적중 시에는 요청마다 DB를 조회하지 않습니다.
+ */
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String SSE_SUBSCRIBE_PATH = "/api/notifications/subscribe";
+    private static final String ACCESS_TOKEN_COOKIE = "accessToken";
+
     private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final PrincipalSource principalSource;
+
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
+                                   CustomUserDetailsService userDetailsService,
+                                   PrincipalCache principalCache,
+                                   @Value("${security.principal-source:CLAIMS}") PrincipalSource principalSource) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.principalSource = principalSource;
+    }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -31,10 +51,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = resolveToken(request);
 
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            String username = jwtTokenProvider.getUsernameFromToken(token);
-            
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        JwtTokenProvider.VerifiedToken verified = token != null ? jwtTokenProvider.getVerifiedToken(token) : null;
+        if (verified != null) {
+            UserDetails userDetails = loadPrincipal(verified);
 
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
@@ -48,11 +67,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails loadPrincipal(JwtTokenProvider.VerifiedToken verified) {
+        String username = verified.subject();
+        String role = verified.role();
+        if (principalSource == PrincipalSource.CLAIMS && role != null) {
+            return CustomUserDetails.fromClaims(username, role);
+        }
+        if (principalSource == PrincipalSource.DATABASE) {
+            return userDetailsService.loadUserByUsername(username);
+        }
+        CustomUserDetails cached = principalCache.get(username);
+        if (cached == null) {
+            cached = (CustomUserDetails) userDetailsService.loadUserByUsername(username);
+            principalCache.put(cached);
+        }
+        return cached;
+    }
+
     private String resolveToken(HttpServletRequest request) {
         String bearer = request.getHeader("Authorization");
         if (bearer != null && bearer.startsWith("Bearer ")) {
             return bearer.substring(7);
         }
+        // EventSource는 Authorization 헤더를 보낼 수 없으므로 SSE 구독 요청에 한해 accessToken 쿠키를 사용합니다.
+        if (SSE_SUBSCRIBE_PATH.equals(request.getServletPath()) && request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (ACCESS_TOKEN_COOKIE.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
         return null;
     }
 }
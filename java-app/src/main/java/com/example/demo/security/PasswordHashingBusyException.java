@@ -0,0 +1,11 @@
+package com.example.demo.security;
+
+/**
+ * 비밀번호 해시 작업 대기열이 가득 찼거나 너무 오래 기다려 작업을 거절했을 때 발생합니다. (503으로 응답)
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("로그인 요청이 많아 잠시 후 다시 시도해 주세요.");
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.demo.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 비밀번호 해시/비교(BCrypt)를 요청 스레드가 아닌 전용 스레드 풀에서 실행합니다.
+ *
+ * BCrypt는 의도적으로 CPU를 많이 쓰므로 로그인이 몰리면 모든 코어를 차지해 다른 API까지 느려집니다.
+ * 스레드 수(threads)로 동시에 해시하는 작업 수를 제한하고, 대기열(queue-capacity)이 가득 차거나
+ * 대기 시간이 max-wait-ms를 넘으면 해시하지 않고 {@link PasswordHashingBusyException}으로 바로 거절합니다.
+ *
+ * 메트릭: auth.password.hash (작업별 해시 시간, op=encode|matches), auth.password.queue.wait (대기 시간),
+ *        auth.password.queue.size (대기 중인 작업 수), auth.password.rejected (거절된 작업 수)
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitNanos;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingExecutor(PasswordEncoder passwordEncoder,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${security.password-hashing.threads:0}") int threads,
+                                   @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${security.password-hashing.max-wait-ms:2000}") long maxWaitMillis) {
+        this.passwordEncoder = passwordEncoder;
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .tag("op", "encode")
+                .description("비밀번호 해시 소요 시간")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash")
+                .tag("op", "matches")
+                .description("비밀번호 해시 소요 시간")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("auth.password.queue.wait")
+                .description("비밀번호 해시 작업이 대기열에서 기다린 시간")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.rejected")
+                .description("대기열이 가득 찼거나 너무 오래 기다려 거절된 해시 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.size", executor.getQueue(), BlockingQueue::size)
+                .description("대기 중인 비밀번호 해시 작업 수")
+                .register(meterRegistry);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return execute(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> T execute(Timer timer, Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long waited = System.nanoTime() - queuedAt;
+                queueWaitTimer.record(waited, TimeUnit.NANOSECONDS);
+                // 너무 오래 기다린 요청은 클라이언트가 이미 포기했을 수 있으므로 해시하지 않습니다.
+                if (waited > maxWaitNanos) {
+                    throw new PasswordHashingBusyException();
+                }
+                return timer.record(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordHashingBusyException();
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new PasswordHashingBusyException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PasswordHashingBusyException busy) {
+                rejectedCounter.increment();
+                throw busy;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
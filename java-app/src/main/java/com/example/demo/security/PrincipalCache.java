@@ -0,0 +1,57 @@
+package com.example.demo.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * DB에서 읽은 인증 주체를 사용자 이름별로 보관하는 크기 제한 TTL 캐시입니다.
+ *
+ * 최대 max-size개를 보관하고, 넘치면 가장 오래 사용하지 않은 항목부터 버립니다.
+ * 권한이 바뀌거나 로그아웃하면 {@link #invalidate}로 지워 다음 요청에서 다시 읽게 합니다.
+ */
+@Component
+public class PrincipalCache {
+
+    private record Entry(CustomUserDetails principal, long expiresAt) {
+    }
+
+    private final long ttlMillis;
+    private final Map<String, Entry> entries; // this 잠금으로 보호
+
+    public PrincipalCache(@Value("${security.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return 캐시된 인증 주체, 없거나 만료되었으면 null
+     */
+    public synchronized CustomUserDetails get(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(username);
+            return null;
+        }
+        return entry.principal();
+    }
+
+    public synchronized void put(CustomUserDetails principal) {
+        entries.put(principal.getUsername(), new Entry(principal, System.currentTimeMillis() + ttlMillis));
+    }
+
+    public synchronized void invalidate(String username) {
+        entries.remove(username);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.security;
+
+/**
+ * JWT 인증 필터가 인증 주체(CustomUserDetails)를 만드는 방식입니다.
+ */
+public enum PrincipalSource {
+
+    /**
+     * 액세스 토큰의 sub, role 클레임만으로 만듭니다. DB를 조회하지 않습니다.
+     * 권한 변경은 토큰이 재발급될 때(최대 액세스 토큰 만료 시간 뒤) 반영됩니다.
+     * role 클레임이 없는 토큰은 CACHE와 같이 처리합니다.
+     */
+    CLAIMS,
+
+    /** DB에서 읽은 사용자를 {@link PrincipalCache}에 TTL 동안 보관해 재사용합니다. */
+    CACHE,
+
+    /** 요청마다 DB에서 사용자를 조회합니다. */
+    DATABASE
+}
@@ -2,9 +2,9 @@ package com.example.demo.service;
 
 import com.example.demo.dto.LoginResponseDto;
 import com.example.demo.entity.Users;
-import com.example.demo.repository.UsersRepository;
+import com.example.demo.oauth.OAuthHttpClients;
+import com.example.demo.redis.RefreshSessionStore;
 import com.example.demo.util.JwtTokenProvider;
-import com.example.demo.util.EncryptionUtil;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -18,7 +18,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.Map;
 import java.util.Optional;
@@ -28,8 +27,9 @@ import java.util.Optional;
 public class GoogleOAuthService {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final UsersRepository usersRepository;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final UsersService usersService;
+    private final RefreshSessionStore refreshSessionStore;
+    private final OAuthHttpClients oauthHttpClients;
 
     @Value("${google.client-id}")
     private String clientId;
@@ -40,13 +40,18 @@ public class GoogleOAuthService {
     @Value("${google.redirect-uri}")
     private String redirectUri;
 
-    private static final String TOKEN_URL = "https://oauth2.googleapis.com/token";
-    private static final String USER_INFO_URL = "https://www.googleapis.com/oauth2/v2/userinfo";
+    private static final String PROVIDER = "google";
+
+    // 로컬 스텁 서버 등으로 바꿀 수 있도록 설정으로 둡니다.
+    @Value("${google.token-uri:https://oauth2.googleapis.com/token}")
+    private String tokenUri;
+
+    @Value("${google.user-info-uri:https://www.googleapis.com/oauth2/v2/userinfo}")
+    private String userInfoUri;
 
     public LoginResponseDto loginWithGoogle(String code, HttpServletResponse response) {
 
         // 1. 구글 토큰 요청
-        String tokenUrl = TOKEN_URL;
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
 
@@ -58,14 +63,14 @@ public class GoogleOAuthService {
         params.add("grant_type", "authorization_code");
 
         HttpEntity<MultiValueMap<String, String>> tokenRequest = new HttpEntity<>(params, headers);
-        ResponseEntity<Map<String, Object>> tokenResponse = restTemplate.exchange(
-            tokenUrl,
+        Map<String, Object> tokenResponse = oauthHttpClients.get(PROVIDER).exchange(
+            tokenUri,
             HttpMethod.POST,
             tokenRequest,
             new ParameterizedTypeReference<Map<String, Object>>() {}
         );
 
-        String accessToken = (String) Optional.ofNullable(tokenResponse.getBody())
+        String accessToken = (String) Optional.ofNullable(tokenResponse)
                 .map(body -> body.get("access_token"))
                 .orElseThrow(() -> new RuntimeException("구글 액세스 토큰이 없습니다."));
 
@@ -74,14 +79,13 @@ public class GoogleOAuthService {
         infoHeaders.setBearerAuth(accessToken);
 
         HttpEntity<?> userInfoRequest = new HttpEntity<>(infoHeaders);
-        ResponseEntity<Map<String, Object>> userInfoResponse = restTemplate.exchange(
-            USER_INFO_URL,
+        Map<String, Object> userInfoBody = oauthHttpClients.get(PROVIDER).exchange(
+            userInfoUri,
             HttpMethod.GET,
             userInfoRequest,
             new ParameterizedTypeReference<Map<String, Object>>() {}
         );
 
-        Map<String, Object> userInfoBody = userInfoResponse.getBody();
         if (userInfoBody == null || !userInfoBody.containsKey("id")) {
             throw new RuntimeException("구글 사용자 정보 조회 실패");
         }
@@ -92,17 +96,12 @@ public class GoogleOAuthService {
         String username = "google_" + googleId;
 
         // 3. DB 저장 or 조회
-        Users user = usersRepository.findByUsername(username)
-                .orElseGet(() -> {
-                    Users newUser = new Users(username, null, "ROLE_USER");
-                    return usersRepository.save(newUser);
-                });
+        Users user = usersService.provisionSocialUser(username);
 
         String jwtAccess = jwtTokenProvider.generateAccessToken(username, user.getRole());
         String refreshToken = jwtTokenProvider.generateRefreshToken(username);
 
-        user.setRefreshToken(EncryptionUtil.encrypt(refreshToken));
-        usersRepository.save(user);
+        refreshSessionStore.create(username, refreshToken);
 
         jwtTokenProvider.setRefreshTokenCookie(response, refreshToken);
 
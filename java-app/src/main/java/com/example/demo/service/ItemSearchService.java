@@ -0,0 +1,78 @@
+package com.example.demo.service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.dto.ItemSuggestionDto;
+import com.example.demo.entity.Item;
+import com.example.demo.repository.ItemRepository;
+import com.example.demo.search.ItemSearchIndex;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 아이템 검색. Postgres 전문 검색(search_vector)과 이름 트라이그램 인덱스를 사용합니다.
+ *
+ * 검색어의 각 단어는 접두어로 일치하며(예: "사과 주" → 사과:* & 주:*), 모든 단어가 이름이나 설명에 있어야 합니다.
+ * 단어 중간에 있는 문자열(예: "청사과주스"의 "사과")은 이름에 대해서만 부분 일치로 찾습니다.
+ * 정렬을 지정하지 않으면 관련도 순으로 반환합니다.
+ * 자동 완성은 메모리 색인(ItemSearchIndex)이 준비되어 있으면 DB를 조회하지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ItemSearchService {
+
+    private final ItemRepository itemRepository;
+    private final ItemSearchIndex itemSearchIndex;
+
+    /**
+     * @param text 사용자가 입력한 검색어
+     * @return 검색어에 단어가 없으면(공백, 기호만 있는 경우) 전체 아이템
+     */
+    public Page<Item> search(String text, Pageable pageable) {
+        String tsQuery = toPrefixTsQuery(text);
+        if (tsQuery == null) {
+            return itemRepository.findAll(pageable);
+        }
+        String namePattern = "%" + escapeLike(text.trim()) + "%";
+        if (pageable.getSort().isSorted()) {
+            return itemRepository.search(tsQuery, namePattern, pageable);
+        }
+        return itemRepository.searchByRelevance(tsQuery, namePattern, text.trim(),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+
+    /**
+     * 자동 완성 검색. 검색어의 각 단어로 시작하는 단어가 이름이나 설명에 있는 아이템을 limit개까지 반환합니다.
+     */
+    public List<ItemSuggestionDto> suggest(String text, int limit) {
+        if (itemSearchIndex.isReady()) {
+            return itemSearchIndex.suggest(text, limit);
+        }
+        String tsQuery = toPrefixTsQuery(text);
+        if (tsQuery == null) {
+            return List.of();
+        }
+        return itemRepository.searchByRelevance(tsQuery, "%" + escapeLike(text.trim()) + "%", text.trim(),
+                        PageRequest.of(0, limit))
+                .map(item -> new ItemSuggestionDto(item.getId(), item.getName()))
+                .getContent();
+    }
+
+    // 문자와 숫자만 남기므로 사용자 입력이 tsquery 연산자(&, |, !, :, 괄호)로 해석되지 않습니다.
+    static String toPrefixTsQuery(String text) {
+        String tsQuery = ItemSearchIndex.tokenize(text).stream()
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+        return tsQuery.isEmpty() ? null : tsQuery;
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
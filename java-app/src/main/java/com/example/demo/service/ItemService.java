@@ -0,0 +1,167 @@
+package com.example.demo.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.dto.ItemCursor;
+import com.example.demo.entity.Item;
+import com.example.demo.redis.ItemCache;
+import com.example.demo.redis.ItemChangePublisher;
+import com.example.demo.redis.ResourceVersions;
+import com.example.demo.repository.ItemRepository;
+import com.example.demo.search.ItemSearchIndex;
+
+/**
+ * 아이템 조회와 추가/수정/삭제. 저장한 뒤 이 노드의 검색 색인에 반영하고 캐시를 지운 뒤 아이템 버전(ETag)을 올리고 다른 노드에 변경을 알립니다.
+ * 아이템 단건과 목록 첫 페이지는 {@link ItemCache}를 거쳐 조회합니다.
+ *
+ * 전체 아이템 수는 매 요청마다 count(*)로 세지 않고 pg_class.reltuples 추정치를 ttl-seconds 동안 재사용합니다.
+ * 추정치가 exact-below보다 작으면(작은 테이블) 정확히 셉니다.
+ */
+@Service
+public class ItemService {
+
+    private final ItemRepository itemRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemChangePublisher itemChangePublisher;
+    private final ItemCache itemCache;
+    private final ResourceVersions resourceVersions;
+    private final boolean countEstimateEnabled;
+    private final long countTtlNanos;
+    private final long exactCountBelow;
+
+    private volatile long cachedCount;
+    private volatile long cachedCountAt;
+    private volatile boolean countCached;
+
+    public ItemService(ItemRepository itemRepository,
+                       ItemSearchIndex itemSearchIndex,
+                       ItemChangePublisher itemChangePublisher,
+                       ItemCache itemCache,
+                       ResourceVersions resourceVersions,
+                       @Value("${item.count-estimate.enabled:true}") boolean countEstimateEnabled,
+                       @Value("${item.count-estimate.ttl-seconds:60}") long countTtlSeconds,
+                       @Value("${item.count-estimate.exact-below:10000}") long exactCountBelow) {
+        this.itemRepository = itemRepository;
+        this.itemSearchIndex = itemSearchIndex;
+        this.itemChangePublisher = itemChangePublisher;
+        this.itemCache = itemCache;
+        this.resourceVersions = resourceVersions;
+        this.countEstimateEnabled = countEstimateEnabled;
+        this.countTtlNanos = TimeUnit.SECONDS.toNanos(countTtlSeconds);
+        this.exactCountBelow = exactCountBelow;
+    }
+
+    /**
+     * @return 아이템이 없으면 null
+     */
+    public Item getItem(Long id) {
+        return itemCache.getItem(id, () -> itemRepository.findById(id).orElse(null));
+    }
+
+    /**
+     * 페이지 번호로 전체 아이템을 조회합니다. 전체 개수는 {@link #countItems()}의 값을 사용합니다.
+     */
+    public Page<Item> getItems(Pageable pageable) {
+        List<Item> content = pageable.getPageNumber() == 0
+                ? itemCache.getPage("list:" + pageable.getPageSize() + ":" + pageable.getSort(),
+                        () -> toCachedPage(itemRepository.findAllBy(pageable))).items()
+                : itemRepository.findAllBy(pageable).getContent();
+        return new PageImpl<>(content, pageable, countItems());
+    }
+
+    /**
+     * 전체 아이템 수. 추정치를 사용하도록 설정되어 있으면 정확하지 않을 수 있습니다.
+     */
+    public long countItems() {
+        if (!countEstimateEnabled) {
+            return itemRepository.count();
+        }
+        if (countCached && System.nanoTime() - cachedCountAt < countTtlNanos) {
+            return cachedCount;
+        }
+        long count = itemRepository.estimateCount();
+        if (count < exactCountBelow) {
+            count = itemRepository.count();
+        }
+        cachedCount = count;
+        cachedCountAt = System.nanoTime();
+        countCached = true;
+        return count;
+    }
+
+    /**
+     * 아이템 목록을 커서 기반으로 조회합니다. 전체 개수를 세지 않고 size + 1개를 읽어 다음 페이지 존재 여부만 판단합니다.
+     * @param cursor 이전 페이지의 마지막 아이템 위치 (첫 페이지는 null)
+     * @param sort 첫 페이지의 정렬 기준 (이후에는 커서의 정렬 기준을 사용)
+     */
+    public Slice<Item> scrollItems(ItemCursor cursor, ItemCursor.SortKey sort, boolean descending, int size) {
+        if (cursor == null) {
+            Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+            Sort order = sort == ItemCursor.SortKey.NAME ? Sort.by(direction, "name", "id") : Sort.by(direction, "id");
+            ItemCache.CachedPage page = itemCache.getPage("scroll:" + sort + ":" + direction + ":" + size,
+                    () -> toCachedPage(itemRepository.findAllBy(PageRequest.of(0, size, order))));
+            return new SliceImpl<>(page.items(), PageRequest.ofSize(size), page.hasNext());
+        }
+        List<Item> items = switch (cursor.sort()) {
+            case ID -> cursor.descending()
+                    ? itemRepository.findByIdLessThanOrderByIdDesc(cursor.id(), Limit.of(size + 1))
+                    : itemRepository.findByIdGreaterThanOrderByIdAsc(cursor.id(), Limit.of(size + 1));
+            case NAME -> cursor.descending()
+                    ? itemRepository.findByNameBefore(cursor.name(), cursor.id(), size + 1)
+                    : itemRepository.findByNameAfter(cursor.name(), cursor.id(), size + 1);
+        };
+        boolean hasNext = items.size() > size;
+        return new SliceImpl<>(hasNext ? items.subList(0, size) : items, PageRequest.ofSize(size), hasNext);
+    }
+
+    private static ItemCache.CachedPage toCachedPage(Slice<Item> slice) {
+        return new ItemCache.CachedPage(slice.getContent(), slice.hasNext());
+    }
+
+    public Item createItem(Item item) {
+        Item saved = itemRepository.save(item);
+        itemSearchIndex.put(saved);
+        itemCache.evictLocal(saved.getId());
+        resourceVersions.bump(ResourceVersions.ITEMS);
+        itemChangePublisher.publish(saved.getId());
+        return saved;
+    }
+
+    /**
+     * @return 아이템이 없으면 null
+     */
+    public Item updateItem(Long id, Item itemDetails) {
+        Item item = itemRepository.findById(id).orElse(null);
+        if (item == null) {
+            return null;
+        }
+        item.setName(itemDetails.getName());
+        item.setDescription(itemDetails.getDescription());
+        Item saved = itemRepository.save(item);
+        itemSearchIndex.put(saved);
+        itemCache.evictLocal(saved.getId());
+        resourceVersions.bump(ResourceVersions.ITEMS);
+        itemChangePublisher.publish(saved.getId());
+        return saved;
+    }
+
+    public void deleteItem(Long id) {
+        itemRepository.deleteById(id);
+        itemSearchIndex.remove(id);
+        itemCache.evictLocal(id);
+        resourceVersions.bump(ResourceVersions.ITEMS);
+        itemChangePublisher.publish(id);
+    }
+}
@@ -2,9 +2,9 @@ package com.example.demo.service;
 
 import com.example.demo.dto.LoginResponseDto;
 import com.example.demo.entity.Users;
-import com.example.demo.repository.UsersRepository;
+import com.example.demo.oauth.OAuthHttpClients;
+import com.example.demo.redis.RefreshSessionStore;
 import com.example.demo.util.JwtTokenProvider;
-import com.example.demo.util.EncryptionUtil;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -14,7 +14,6 @@ import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.Map;
 import java.util.Optional;
@@ -24,8 +23,9 @@ import java.util.Optional;
 public class KakaoOAuthService {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final UsersRepository usersRepository;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final UsersService usersService;
+    private final RefreshSessionStore refreshSessionStore;
+    private final OAuthHttpClients oauthHttpClients;
 
     @Value("${kakao.client-id}")
     private String clientId;
@@ -33,13 +33,18 @@ public class KakaoOAuthService {
     @Value("${kakao.redirect-uri}")
     private String redirectUri;
 
-    private static final String TOKEN_URL = "https://kauth.kakao.com/oauth/token";
-    private static final String USER_INFO_URL = "https://kapi.kakao.com/v2/user/me";
+    private static final String PROVIDER = "kakao";
+
+    // 로컬 스텁 서버 등으로 바꿀 수 있도록 설정으로 둡니다.
+    @Value("${kakao.token-uri:https://kauth.kakao.com/oauth/token}")
+    private String tokenUri;
+
+    @Value("${kakao.user-info-uri:https://kapi.kakao.com/v2/user/me}")
+    private String userInfoUri;
 
     public LoginResponseDto kakaoLogin(String code, HttpServletResponse response) {
 
         // 1. 인가코드로 토큰 요청
-        String tokenUrl = TOKEN_URL;
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
 
@@ -50,13 +55,13 @@ public class KakaoOAuthService {
         params.add("code", code);
 
         HttpEntity<MultiValueMap<String, String>> tokenRequest = new HttpEntity<>(params, headers);
-        ResponseEntity<Map<String, Object>> tokenResponse = restTemplate.exchange(
-            tokenUrl,
+        Map<String, Object> tokenResponse = oauthHttpClients.get(PROVIDER).exchange(
+            tokenUri,
             HttpMethod.POST,
             tokenRequest,
             new ParameterizedTypeReference<Map<String, Object>>() {}
         );
-        String kakaoAccessToken = (String) Optional.ofNullable(tokenResponse.getBody())
+        String kakaoAccessToken = (String) Optional.ofNullable(tokenResponse)
                 .map(body -> body.get("access_token"))
                 .orElseThrow(() -> new RuntimeException("카카오 액세스 토큰이 없습니다."));
 
@@ -65,14 +70,13 @@ public class KakaoOAuthService {
         userInfoHeaders.setBearerAuth(kakaoAccessToken);
         HttpEntity<?> userInfoRequest = new HttpEntity<>(userInfoHeaders);
 
-        ResponseEntity<Map<String, Object>> userInfoResponse = restTemplate.exchange(
-            USER_INFO_URL,
+        Map<String, Object> userInfoBody = oauthHttpClients.get(PROVIDER).exchange(
+            userInfoUri,
             HttpMethod.GET,
             userInfoRequest,
             new ParameterizedTypeReference<Map<String, Object>>() {}
         );
 
-        Map<String, Object> userInfoBody = userInfoResponse.getBody();
         if (userInfoBody == null || !userInfoBody.containsKey("id")) {
             throw new RuntimeException("카카오 사용자 정보 조회 실패");
         }
@@ -84,18 +88,13 @@ public class KakaoOAuthService {
         String username = "kakao_" + kakaoId;
 
         // 3. 사용자 등록 또는 조회
-        Users user = usersRepository.findByUsername(username)
-                .orElseGet(() -> {
-                    Users newUser = new Users(username, null, "ROLE_USER"); // 비밀번호 null로 설정
-                    return usersRepository.save(newUser);
-                });
+        Users user = usersService.provisionSocialUser(username);
 
         // 4. JWT 생성
         String accessToken = jwtTokenProvider.generateAccessToken(username, user.getRole());
         String refreshToken = jwtTokenProvider.generateRefreshToken(username);
 
-        user.setRefreshToken(EncryptionUtil.encrypt(refreshToken));
-        usersRepository.save(user);
+        refreshSessionStore.create(username, refreshToken);
 
         // 5. 쿠키 설정
         jwtTokenProvider.setRefreshTokenCookie(response, refreshToken);
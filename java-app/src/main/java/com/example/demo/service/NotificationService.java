@@ -1,14 +1,29 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.NotificationCursor;
+import com.example.demo.redis.ResourceVersions;
 import com.example.demo.dto.NotificationDto;
 import com.example.demo.dto.NotificationResponseDto;
 import com.example.demo.entity.Notification;
 import com.example.demo.repository.NotificationRepository;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,18 +32,68 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class NotificationService {
 
+    // spring.jpa.properties.hibernate.jdbc.batch_size와 같은 값으로, 이만큼 모일 때마다 flush해 영속성 컨텍스트를 비웁니다.
+    private static final int JDBC_BATCH_SIZE = 500;
+
     private final NotificationRepository notificationRepository;
+    private final UnreadCountService unreadCountService;
+    private final ResourceVersions resourceVersions;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Transactional
     public Notification saveNotification(NotificationDto notificationDto) {
-        Notification notification = Notification.builder()
+        Notification notification = notificationRepository.save(toEntity(notificationDto));
+        unreadCountService.notificationsCreated(List.of(notification));
+        resourceVersions.bump(ResourceVersions.NOTIFICATIONS);
+        return notification;
+    }
+
+    /**
+     * 여러 알림을 한 트랜잭션에서 배치 INSERT로 저장합니다.
+     * @param notificationDtos 저장할 알림 목록
+     * @return 저장된 알림 목록 (ID 포함)
+     */
+    @Transactional
+    public List<Notification> saveNotifications(List<NotificationDto> notificationDtos) {
+        List<Notification> notifications = new ArrayList<>(notificationDtos.size());
+        for (NotificationDto notificationDto : notificationDtos) {
+            notifications.add(toEntity(notificationDto));
+        }
+        insertBatch(notifications);
+        return notifications;
+    }
+
+    /**
+     * 알림들을 한 트랜잭션 안에서 JDBC 배치로 저장합니다.
+     * ID는 시퀀스에서 allocationSize 단위로 미리 할당되므로 Hibernate가 INSERT를 batch_size개씩 묶어 보내고,
+     * 드라이버(reWriteBatchedInserts=true)가 이를 다중 행 INSERT로 바꿉니다.
+     * @param notifications 저장할 알림 (createdAt이 없으면 저장 시각으로 채워짐)
+     */
+    @Transactional
+    public void insertBatch(List<Notification> notifications) {
+        for (int i = 0; i < notifications.size(); i++) {
+            entityManager.persist(notifications.get(i));
+            if ((i + 1) % JDBC_BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        unreadCountService.notificationsCreated(notifications);
+        resourceVersions.bump(ResourceVersions.NOTIFICATIONS);
+    }
+
+    private Notification toEntity(NotificationDto notificationDto) {
+        return Notification.builder()
                 .title(notificationDto.getTitle())
                 .message(notificationDto.getMessage())
                 .type(notificationDto.getType())
+                .recipientId(notificationDto.getRecipientId())
                 .isRead(false)
                 .build();
-
-        return notificationRepository.save(notification);
     }
 
     @Transactional(readOnly = true)
@@ -37,13 +102,52 @@ public class NotificationService {
                 .orElseThrow(() -> new RuntimeException("Notification not found with id: " + id));
     }
 
+    /**
+     * 여러 알림을 UPDATE 한 번으로 읽음 처리합니다. 사용자 본인에게 온 알림과 브로드캐스트만 대상입니다.
+     * @param userId 사용자 ID
+     * @param ids 읽음 처리할 알림 ID
+     * @return 새로 읽음 처리된 알림 ID (이미 읽었거나 대상이 아닌 알림은 제외)
+     */
+    @Transactional
+    public List<Long> markAsRead(String userId, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Long> updatedIds = new ArrayList<>();
+        long broadcastRead = 0;
+        for (Object[] row : notificationRepository.markAsRead(ids, userId, LocalDateTime.now())) {
+            updatedIds.add(((Number) row[0]).longValue());
+            if (row[1] == null) {
+                broadcastRead++;
+            }
+        }
+        long directRead = updatedIds.size() - broadcastRead;
+        unreadCountService.notificationsRead(userId, directRead, broadcastRead);
+        bumpIfRowsChanged(directRead);
+        return updatedIds;
+    }
+
+    /**
+     * 사용자의 알림함에서 커서 위치와 그 이전의 알림을 UPDATE 한 번으로 모두 읽음 처리합니다.
+     * @param userId 사용자 ID
+     * @param upTo 읽음 처리할 마지막(가장 최신) 위치 (전체는 {@link NotificationCursor#FIRST})
+     * @return 새로 읽음 처리된 알림 수
+     */
     @Transactional
-    public void markAsRead(Long id) {
-        Notification notification = getNotification(id);
-        if (!notification.isRead()) {
-            notification.setRead(true);
-            notification.setReadAt(java.time.LocalDateTime.now());
-            notificationRepository.save(notification);
+    public long markAllAsRead(String userId, NotificationCursor upTo) {
+        Object[] row = notificationRepository.markAllAsReadUpTo(userId, upTo.createdAt(), upTo.id(), LocalDateTime.now()).get(0);
+        long directRead = ((Number) row[0]).longValue();
+        long broadcastRead = ((Number) row[1]).longValue();
+        long updated = directRead + broadcastRead;
+        unreadCountService.notificationsRead(userId, directRead, broadcastRead);
+        bumpIfRowsChanged(directRead);
+        return updated;
+    }
+
+    // 브로드캐스트 읽음은 사용자별 기록만 바꾸고 notifications 행(알림 목록 응답)은 그대로이므로 버전을 올리지 않습니다.
+    private void bumpIfRowsChanged(long directRead) {
+        if (directRead > 0) {
+            resourceVersions.bump(ResourceVersions.NOTIFICATIONS);
         }
     }
     
@@ -57,4 +161,42 @@ public class NotificationService {
         return notificationRepository.findAllByOrderByCreatedAtDesc(pageable)
                 .map(NotificationResponseDto::from);
     }
+
+    /**
+     * 사용자의 받은 알림함을 커서 기반으로 최신순 조회합니다.
+     * 전체 개수를 세지 않고 size + 1개를 읽어 다음 페이지 존재 여부만 판단합니다.
+     * @param userId 사용자 ID
+     * @param cursor 이전 페이지의 마지막 알림 위치 (첫 페이지는 {@link NotificationCursor#FIRST})
+     * @param size 페이지 크기
+     * @return 알림 목록과 다음 페이지 존재 여부
+     */
+    @Transactional(readOnly = true)
+    public Slice<NotificationResponseDto> getInbox(String userId, NotificationCursor cursor, int size) {
+        List<Notification> notifications = notificationRepository.findInboxBefore(userId, cursor.createdAt(), cursor.id(), size + 1);
+        boolean hasNext = notifications.size() > size;
+        if (hasNext) {
+            notifications = notifications.subList(0, size);
+        }
+        // 브로드캐스트의 읽음 상태는 공유 행이 아니라 사용자별 읽음 기록에서 가져옵니다.
+        List<Long> broadcastIds = notifications.stream()
+                .filter(notification -> notification.getRecipientId() == null)
+                .map(Notification::getId)
+                .toList();
+        Map<Long, LocalDateTime> broadcastReads = new HashMap<>();
+        if (!broadcastIds.isEmpty()) {
+            for (Object[] row : notificationRepository.findBroadcastReads(userId, broadcastIds)) {
+                broadcastReads.put(((Number) row[0]).longValue(), toLocalDateTime(row[1]));
+            }
+        }
+        List<NotificationResponseDto> content = notifications.stream()
+                .map(notification -> notification.getRecipientId() == null
+                        ? NotificationResponseDto.fromBroadcast(notification, broadcastReads.get(notification.getId()))
+                        : NotificationResponseDto.from(notification))
+                .toList();
+        return new SliceImpl<>(content, PageRequest.ofSize(size), hasNext);
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
 }
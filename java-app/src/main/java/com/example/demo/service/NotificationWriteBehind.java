@@ -0,0 +1,331 @@
+package com.example.demo.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.dto.NotificationDto;
+import com.example.demo.entity.Notification;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 알림 저장을 요청 스레드에서 분리하는 write-behind 대기열입니다.
+ *
+ * /send 요청은 알림을 제한된 대기열에 넣고 바로 발행하며, 단일 플러시 스레드가 대기열을 모아
+ * batch-size개가 차거나 linger-ms가 지나면 한 트랜잭션의 JDBC 배치로 저장합니다.
+ * 대기열이 가득 차면 offer-timeout-ms만큼 기다린 뒤 거절해 호출자가 503으로 응답하도록 합니다(백프레셔).
+ * 저장에 실패한 배치와 종료 시 제한 시간 안에 저장하지 못한 알림은 spill-dir에 JSON Lines 파일로 기록되고,
+ * 주기적인 복구 작업(기동 직후 포함)이 다시 저장한 뒤 파일을 지웁니다.
+ * 읽을 수 없는 파일과 max-recovery-attempts번 저장에 실패한 파일은 .bad 이름으로 격리해 다른 파일의 복구를 막지 않습니다.
+ */
+@Slf4j
+@Component
+public class NotificationWriteBehind {
+
+    private static final String SPILL_SUFFIX = ".jsonl";
+    private static final String QUARANTINE_SUFFIX = ".bad";
+
+    private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final BlockingQueue<Notification> queue;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long offerTimeoutMillis;
+    private final long shutdownTimeoutMillis;
+    private final Path spillDirectory;
+    private final int maxRecoveryAttempts;
+    private final Map<Path, Integer> recoveryFailures = new HashMap<>(); // 복구 스케줄러 스레드에서만 사용
+    private final Thread flusher;
+    private final Counter persistedCounter;
+    private final Counter rejectedCounter;
+    private final Counter spilledCounter;
+    private final Counter quarantinedCounter;
+    private final Timer flushTimer;
+    private volatile boolean running = true;
+
+    public NotificationWriteBehind(NotificationService notificationService,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${notification.write-behind.enabled:false}") boolean enabled,
+                                   @Value("${notification.write-behind.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${notification.write-behind.batch-size:500}") int batchSize,
+                                   @Value("${notification.write-behind.linger-ms:50}") long lingerMillis,
+                                   @Value("${notification.write-behind.offer-timeout-ms:100}") long offerTimeoutMillis,
+                                   @Value("${notification.write-behind.shutdown-timeout-ms:10000}") long shutdownTimeoutMillis,
+                                   @Value("${notification.write-behind.spill-dir:data/notification-spill}") String spillDirectory,
+                                   @Value("${notification.write-behind.max-recovery-attempts:5}") int maxRecoveryAttempts) {
+        this.notificationService = notificationService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.spillDirectory = Paths.get(spillDirectory);
+        this.maxRecoveryAttempts = maxRecoveryAttempts;
+        this.flusher = new CustomizableThreadFactory("notification-writer-").newThread(this::run);
+        Gauge.builder("notification.writebehind.queue.size", queue, BlockingQueue::size)
+                .description("저장 대기 중인 알림 수")
+                .register(meterRegistry);
+        this.persistedCounter = Counter.builder("notification.writebehind.persisted")
+                .description("배치로 저장된 알림 수")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("notification.writebehind.rejected")
+                .description("대기열이 가득 차 거절된 알림 수")
+                .register(meterRegistry);
+        this.spilledCounter = Counter.builder("notification.writebehind.spilled")
+                .description("저장하지 못해 파일로 기록된 알림 수")
+                .register(meterRegistry);
+        this.quarantinedCounter = Counter.builder("notification.writebehind.quarantined")
+                .description("복구하지 못해 격리된 파일 수")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("notification.writebehind.flush")
+                .description("배치 저장 소요 시간")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            flusher.start();
+        }
+    }
+
+    /**
+     * 알림 저장을 요청합니다. write-behind가 꺼져 있으면 즉시 저장합니다.
+     * @return 대기열이 가득 차 받아들이지 못했으면 false
+     */
+    public boolean submit(NotificationDto notificationDto) throws InterruptedException {
+        if (!enabled) {
+            notificationService.saveNotification(notificationDto);
+            return true;
+        }
+        if (!running) {
+            return false;
+        }
+        // 생성 시각은 저장 시점이 아니라 요청 시점으로 기록합니다.
+        Notification notification = Notification.builder()
+                .title(notificationDto.getTitle())
+                .message(notificationDto.getMessage())
+                .type(notificationDto.getType())
+                .recipientId(notificationDto.getRecipientId())
+                .isRead(false)
+                .createdAt(LocalDateTime.now())
+                .build();
+        if (!queue.offer(notification, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            rejectedCounter.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void run() {
+        List<Notification> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Notification first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // 첫 알림이 들어온 뒤 linger 시간 동안, 또는 배치가 찰 때까지 더 모읍니다.
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Notification next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                // 종료 제한 시간 초과: 모아 둔 배치는 파일로 남기고, 대기열은 shutdown()이 처리합니다.
+                spill(batch);
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Notification> batch) {
+        try {
+            flushTimer.record(() -> notificationService.insertBatch(batch));
+            persistedCounter.increment(batch.size());
+        } catch (Exception e) {
+            log.error("알림 {}건 배치 저장 실패, 파일로 기록합니다: {}", batch.size(), e.getMessage());
+            spill(batch);
+        }
+    }
+
+    /**
+     * 종료 시 새 요청을 거절하고 남은 알림을 제한 시간 안에 저장합니다. 저장하지 못한 알림은 파일로 기록합니다.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (!enabled) {
+            return;
+        }
+        flusher.join(shutdownTimeoutMillis);
+        if (flusher.isAlive()) {
+            flusher.interrupt();
+            flusher.join(1000);
+        }
+        List<Notification> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.warn("종료 제한 시간 안에 저장하지 못한 알림 {}건을 파일로 기록합니다.", remaining.size());
+            spill(remaining);
+        }
+    }
+
+    /**
+     * 저장하지 못한 알림을 새 파일에 기록합니다. 임시 파일에 쓴 뒤 이름을 바꾸므로 복구 작업은 완성된 파일만 읽습니다.
+     */
+    private synchronized void spill(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(spillDirectory);
+            String name = System.currentTimeMillis() + "-" + UUID.randomUUID();
+            Path temp = spillDirectory.resolve(name + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Notification notification : notifications) {
+                    // 실패한 flush에서 할당된 ID는 버리고 복구 시 새로 할당받습니다.
+                    notification.setId(null);
+                    writer.write(objectMapper.writeValueAsString(notification));
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, spillDirectory.resolve(name + SPILL_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+            spilledCounter.increment(notifications.size());
+        } catch (IOException e) {
+            log.error("알림 {}건을 파일로 기록하지 못했습니다.", notifications.size(), e);
+        }
+    }
+
+    /**
+     * 파일로 기록된 알림을 다시 저장합니다. 저장에 성공한 파일만 지우고, 실패하면 다음 주기에 다시 시도합니다.
+     * 파일마다 따로 처리하므로 한 파일의 실패가 다른 파일의 복구를 막지 않습니다.
+     * DB에 연결할 수 없으면 이번 주기를 멈추고, 실패 횟수에도 넣지 않습니다.
+     */
+    @Scheduled(fixedDelayString = "${notification.write-behind.recovery-interval-ms:60000}")
+    public void recoverSpilled() {
+        if (!Files.isDirectory(spillDirectory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spillDirectory, "*" + SPILL_SUFFIX)) {
+            for (Path file : files) {
+                if (!recover(file)) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("파일로 기록된 알림 목록 조회 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return 다음 파일을 계속 복구해도 되면 true (DB에 연결할 수 없으면 false)
+     */
+    private boolean recover(Path file) {
+        List<Notification> notifications = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    notifications.add(objectMapper.readValue(line, Notification.class));
+                }
+            }
+        } catch (JsonProcessingException | CharacterCodingException e) {
+            log.error("파일로 기록된 알림을 읽을 수 없습니다: {} ({})", file.getFileName(), e.getMessage());
+            quarantine(file);
+            return true;
+        } catch (IOException e) {
+            log.warn("파일로 기록된 알림 읽기 실패: {} ({})", file.getFileName(), e.getMessage());
+            return true;
+        }
+        try {
+            // 파일 하나를 한 트랜잭션으로 저장해 일부만 저장된 채 다시 시도되는 일이 없도록 합니다.
+            notificationService.insertBatch(notifications);
+        } catch (DataAccessResourceFailureException | TransientDataAccessException e) {
+            log.warn("DB에 연결할 수 없어 알림 복구를 다음 주기로 미룹니다: {}", e.getMessage());
+            return false;
+        } catch (RuntimeException e) {
+            int failures = recoveryFailures.merge(file, 1, Integer::sum);
+            log.warn("파일로 기록된 알림 저장 실패 ({}/{}): {} ({})", failures, maxRecoveryAttempts, file.getFileName(), e.getMessage());
+            if (failures >= maxRecoveryAttempts) {
+                quarantine(file);
+            }
+            return true;
+        }
+        recoveryFailures.remove(file);
+        persistedCounter.increment(notifications.size());
+        log.info("파일로 기록된 알림 {}건을 복구했습니다: {}", notifications.size(), file.getFileName());
+        try {
+            Files.delete(file);
+        } catch (IOException e) {
+            // 지우지 못하면 다음 주기에 같은 알림이 다시 저장됩니다.
+            log.error("복구한 알림 파일 삭제 실패: {} ({})", file.getFileName(), e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * 복구할 수 없는 파일을 .bad 이름으로 바꿔 다음 주기부터 건너뜁니다. 내용을 확인한 뒤 직접 처리해야 합니다.
+     */
+    private void quarantine(Path file) {
+        recoveryFailures.remove(file);
+        try {
+            Files.move(file, file.resolveSibling(file.getFileName() + QUARANTINE_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+            quarantinedCounter.increment();
+            log.error("복구할 수 없는 알림 파일을 격리했습니다: {}{}", file.getFileName(), QUARANTINE_SUFFIX);
+        } catch (IOException e) {
+            log.error("알림 파일 격리 실패: {} ({})", file.getFileName(), e.getMessage());
+        }
+    }
+}
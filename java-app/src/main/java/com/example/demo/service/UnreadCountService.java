@@ -0,0 +1,225 @@
+package com.example.demo.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.LongSupplier;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.dto.UnreadCountDto;
+import com.example.demo.entity.Notification;
+import com.example.demo.redis.NotificationEnvelope;
+import com.example.demo.redis.NotificationPublisher;
+import com.example.demo.redis.UnreadCounter;
+import com.example.demo.repository.NotificationRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 읽지 않은 알림 수를 Redis 카운터로 제공합니다.
+ *
+ * 사용자에게 온 알림은 사용자별 읽지 않은 수를, 브로드캐스트는 전체 수와 사용자별 읽은 수를 세고
+ * 읽지 않은 브로드캐스트 수는 전체 - 읽은 수로 계산합니다. (브로드캐스트 읽음 상태는 사용자별 읽음 위치와, 그 뒤에서 하나씩 읽은 기록으로 저장)
+ * 알림 저장/읽음 처리가 커밋되면 카운터를 증감하고, 바뀐 값을 unread-count SSE 이벤트로 보냅니다.
+ * 사용자에게는 {"user":n,"broadcast":m,"broadcastTotal":t} 형식(카운터가 있는 값만)으로,
+ * 새 브로드캐스트는 모두에게 {"broadcastTotal":t}로 보내며, 클라이언트는 자신이 읽은 수를 빼서 표시합니다.
+ * 카운터와 DB가 어긋날 수 있는 경우(커밋 직후 계산이 시작되어 변경이 두 번 반영됨, Redis 오류 등)는 주기적인 재계산으로 바로잡습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UnreadCountService {
+
+    private static final int RECONCILE_CHUNK_SIZE = 1000;
+
+    private final NotificationRepository notificationRepository;
+    private final UnreadCounter unreadCounter;
+    private final NotificationPublisher notificationPublisher;
+
+    /**
+     * 사용자의 읽지 않은 알림 수를 조회합니다. 카운터가 없으면 DB에서 계산해 만듭니다.
+     */
+    public UnreadCountDto getUnreadCount(String userId) {
+        Map<String, LongSupplier> dbCounts = new LinkedHashMap<>();
+        dbCounts.put(UnreadCounter.userKey(userId), () -> notificationRepository.countUnreadByRecipientId(userId));
+        dbCounts.put(UnreadCounter.BROADCAST_TOTAL_KEY, notificationRepository::countBroadcasts);
+        dbCounts.put(UnreadCounter.broadcastReadKey(userId), () -> notificationRepository.countBroadcastReads(userId));
+        List<String> keys = new ArrayList<>(dbCounts.keySet());
+        List<Long> values = unreadCounter.get(keys);
+        Map<String, Long> counts = new HashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (values.get(i) != null) {
+                counts.put(keys.get(i), values.get(i));
+            }
+        }
+        dbCounts.keySet().removeAll(counts.keySet());
+        if (!dbCounts.isEmpty()) {
+            counts.putAll(load(dbCounts));
+        }
+        long user = counts.get(keys.get(0));
+        long broadcastTotal = counts.get(keys.get(1));
+        long broadcastRead = counts.get(keys.get(2));
+        return new UnreadCountDto(user, Math.max(0, broadcastTotal - broadcastRead), broadcastTotal);
+    }
+
+    /**
+     * 없는 카운터들을 DB에서 계산해 만듭니다. 계산 중에 커밋된 변경은 카운터에서 함께 반영됩니다.
+     * @return 키별 값 (카운터를 만들지 못한 키는 DB 계산 값)
+     */
+    private Map<String, Long> load(Map<String, LongSupplier> dbCounts) {
+        String token = unreadCounter.beginCount(dbCounts.keySet());
+        Map<String, Long> counts = new HashMap<>();
+        dbCounts.forEach((key, dbCount) -> counts.put(key, dbCount.getAsLong()));
+        counts.putAll(unreadCounter.initialize(token, counts));
+        return counts;
+    }
+
+    /**
+     * 새로 저장된 알림만큼 수신자 카운터(브로드캐스트는 전체 수)를 늘립니다. 트랜잭션 안이면 커밋 후에 반영합니다.
+     */
+    public void notificationsCreated(Collection<Notification> notifications) {
+        Map<String, Long> deltas = new HashMap<>();
+        for (Notification notification : notifications) {
+            if (notification.getRecipientId() == null) {
+                deltas.merge(UnreadCounter.BROADCAST_TOTAL_KEY, 1L, Long::sum);
+            } else if (!notification.isRead()) {
+                deltas.merge(UnreadCounter.userKey(notification.getRecipientId()), 1L, Long::sum);
+            }
+        }
+        adjustAfterCommit(deltas);
+    }
+
+    /**
+     * 사용자가 읽음 처리한 알림 수만큼 카운터를 조정합니다. 트랜잭션 안이면 커밋 후에 반영합니다.
+     * @param userId 읽은 사용자 ID
+     * @param directRead 읽음 처리된 사용자 알림 수
+     * @param broadcastRead 새로 읽은 브로드캐스트 수
+     */
+    public void notificationsRead(String userId, long directRead, long broadcastRead) {
+        Map<String, Long> deltas = new HashMap<>();
+        if (directRead > 0) {
+            deltas.put(UnreadCounter.userKey(userId), -directRead);
+        }
+        if (broadcastRead > 0) {
+            deltas.put(UnreadCounter.broadcastReadKey(userId), broadcastRead);
+        }
+        adjustAfterCommit(deltas);
+    }
+
+    private void adjustAfterCommit(Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    adjust(deltas);
+                }
+            });
+        } else {
+            adjust(deltas);
+        }
+    }
+
+    private void adjust(Map<String, Long> deltas) {
+        try {
+            Map<String, Long> counts = unreadCounter.addIfPresent(deltas);
+            // 카운터가 없는 사용자는 배지를 보고 있지 않으므로 알리지 않습니다. (조회 시 DB에서 계산)
+            List<NotificationEnvelope> events = new ArrayList<>();
+            Long broadcastTotal = counts.get(UnreadCounter.BROADCAST_TOTAL_KEY);
+            if (broadcastTotal != null) {
+                events.add(toEvent(null, null, null, broadcastTotal));
+            }
+            Set<String> users = new LinkedHashSet<>();
+            for (String key : counts.keySet()) {
+                String userId = UnreadCounter.userIdOf(key);
+                if (userId != null) {
+                    users.add(userId);
+                }
+            }
+            if (!users.isEmpty()) {
+                // 대기열에서 사용자 이벤트는 최신 값 하나만 남으므로 항상 사용자의 모든 값을 함께 보냅니다.
+                List<String> keys = new ArrayList<>(users.size() * 2 + 1);
+                keys.add(UnreadCounter.BROADCAST_TOTAL_KEY);
+                for (String userId : users) {
+                    keys.add(UnreadCounter.userKey(userId));
+                    keys.add(UnreadCounter.broadcastReadKey(userId));
+                }
+                List<Long> values = unreadCounter.get(keys);
+                int i = 1;
+                for (String userId : users) {
+                    events.add(toEvent(userId, values.get(i++), values.get(i++), values.get(0)));
+                }
+            }
+            if (!events.isEmpty()) {
+                notificationPublisher.publishAll(events);
+            }
+        } catch (Exception e) {
+            // 다음 재계산 주기에 바로잡힙니다.
+            log.warn("읽지 않은 알림 수 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    private static NotificationEnvelope toEvent(String userId, Long user, Long broadcastRead, Long broadcastTotal) {
+        StringJoiner payload = new StringJoiner(",", "{", "}");
+        if (user != null) {
+            payload.add("\"user\":" + user);
+        }
+        if (broadcastTotal != null) {
+            if (broadcastRead != null) {
+                payload.add("\"broadcast\":" + Math.max(0, broadcastTotal - broadcastRead));
+            }
+            payload.add("\"broadcastTotal\":" + broadcastTotal);
+        }
+        return new NotificationEnvelope(NotificationPublisher.UNREAD_COUNT_EVENT, userId,
+                payload.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Redis에 있는 카운터들을 DB에서 다시 계산한 값으로 바꿉니다. 계산 중에 커밋된 변경은 덮어쓰지 않고 계산 값에 더해집니다.
+     * 읽지 않은 알림만 담는 부분 인덱스, 브로드캐스트 범위 인덱스와 읽음 기록 기본 키로 사용자를 묶어서 세므로 전체 테이블을 읽지 않습니다.
+     */
+    @Scheduled(fixedDelayString = "${notification.unread.reconcile-interval-ms:300000}",
+               initialDelayString = "${notification.unread.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            List<String> users = new ArrayList<>(unreadCounter.trackedUsers());
+            int reconciled = 0;
+            for (int from = 0; from < users.size(); from += RECONCILE_CHUNK_SIZE) {
+                List<String> chunk = users.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, users.size()));
+                Map<String, Long> counts = new HashMap<>();
+                for (String userId : chunk) {
+                    counts.put(UnreadCounter.userKey(userId), 0L);
+                    counts.put(UnreadCounter.broadcastReadKey(userId), 0L);
+                }
+                String token = unreadCounter.beginCount(counts.keySet());
+                for (Object[] row : notificationRepository.countUnreadByRecipientIds(chunk)) {
+                    counts.put(UnreadCounter.userKey((String) row[0]), ((Number) row[1]).longValue());
+                }
+                for (Object[] row : notificationRepository.countBroadcastReadsByUserIds(chunk)) {
+                    counts.put(UnreadCounter.broadcastReadKey((String) row[0]), ((Number) row[1]).longValue());
+                }
+                unreadCounter.reconcile(token, counts);
+                reconciled += counts.size();
+            }
+            String token = unreadCounter.beginCount(List.of(UnreadCounter.BROADCAST_TOTAL_KEY));
+            unreadCounter.reconcile(token, Map.of(UnreadCounter.BROADCAST_TOTAL_KEY, notificationRepository.countBroadcasts()));
+            log.debug("읽지 않은 알림 수 {}건을 재계산했습니다.", reconciled + 1);
+        } catch (Exception e) {
+            log.warn("읽지 않은 알림 수 재계산 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -4,23 +4,29 @@ import com.example.demo.dto.LoginRequestDto;
 import com.example.demo.dto.LoginResponseDto;
 import com.example.demo.dto.UsersRequestDto;
 import com.example.demo.entity.Users;
+import com.example.demo.redis.RefreshSessionStore;
 import com.example.demo.repository.UsersRepository;
+import com.example.demo.security.CustomUserDetails;
+import com.example.demo.security.PasswordHashingExecutor;
+import com.example.demo.security.PrincipalCache;
 import com.example.demo.util.JwtTokenProvider;
-import com.example.demo.util.EncryptionUtil; // EncryptionUtil 임포트
 
 import lombok.RequiredArgsConstructor;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Service
 @RequiredArgsConstructor
 public class UsersService {
     private final UsersRepository usersRepository;
-    private final PasswordEncoder passwordEncoder;
+    // BCrypt는 요청 스레드가 아닌 크기가 제한된 전용 스레드 풀에서 실행합니다.
+    private final PasswordHashingExecutor passwordHashing;
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final PrincipalCache principalCache;
+    private final RefreshSessionStore refreshSessionStore;
 
     public void signup(UsersRequestDto request) {
         if (usersRepository.findByUsername(request.getUsername()).isPresent()) {
@@ -29,7 +35,7 @@ public class UsersService {
 
         Users user = Users.builder()
                 .username(request.getUsername())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashing.encode(request.getPassword()))
                 .role("ROLE_USER")
                 .build();
 
@@ -40,16 +46,15 @@ public class UsersService {
         Users user = usersRepository.findByUsername(request.getUsername())
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashing.matches(request.getPassword(), user.getPassword())) {
             throw new RuntimeException("비밀번호가 일치하지 않습니다.");
         }
 
         String accessToken = jwtTokenProvider.generateAccessToken(user.getUsername(), user.getRole());
         String refreshToken = jwtTokenProvider.generateRefreshToken(user.getUsername());
 
-        // 리프레시 토큰 암호화하여 저장
-        user.setRefreshToken(EncryptionUtil.encrypt(refreshToken));
-        usersRepository.save(user);
+        // 기기별 리프레시 세션을 Redis에 만듭니다. (users 테이블에는 쓰지 않음)
+        refreshSessionStore.create(user.getUsername(), refreshToken);
 
         return new LoginResponseDto(accessToken, refreshToken);
     }
@@ -65,43 +70,61 @@ public class UsersService {
         Users user = usersRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("사용자 없음"));
 
-        // DB에 저장된 암호화된 리프레시 토큰 복호화
-        String storedRefreshToken = EncryptionUtil.decrypt(user.getRefreshToken());
-
-        if (!token.equals(storedRefreshToken)) { // 복호화된 토큰과 비교
-            throw new RuntimeException("서버에 저장된 Refresh Token과 다릅니다.");
-        }
-
         String newAccessToken = jwtTokenProvider.generateAccessToken(username, user.getRole());
         String newRefreshToken = jwtTokenProvider.generateRefreshToken(username);
 
-        // 새로운 리프레시 토큰 암호화하여 저장
-        user.setRefreshToken(EncryptionUtil.encrypt(newRefreshToken));
-        usersRepository.save(user);
+        // 이전 세션을 새 세션으로 원자적으로 교체합니다. 이미 갱신/로그아웃된 토큰이면 실패합니다.
+        if (!refreshSessionStore.rotate(username, token, newRefreshToken)) {
+            throw new RuntimeException("서버에 저장된 Refresh Token과 다릅니다.");
+        }
 
         return new LoginResponseDto(newAccessToken, newRefreshToken);
     }
 
-    public String logout(String accessToken) {
+    /**
+     * 리프레시 토큰이 있으면 그 기기의 세션만, 없으면 사용자의 모든 세션을 끝냅니다.
+     */
+    public String logout(String accessToken, String refreshToken) {
         String token = accessToken.replace("Bearer ", "");
         String username = jwtTokenProvider.getUsernameFromToken(token);
 
-        Users user = usersRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("사용자 없음"));
-
-        user.setRefreshToken(null);
-        usersRepository.save(user);
+        if (refreshToken != null) {
+            refreshSessionStore.revoke(username, refreshToken);
+        } else {
+            refreshSessionStore.revokeAll(username);
+        }
+        usersRepository.clearRefreshToken(username);
+        principalCache.invalidate(username);
 
         return "로그아웃 성공";
     }
 
+    /**
+     * 소셜 로그인 사용자를 조회하거나 처음이면 만듭니다.
+     * 최근에 확인한 사용자는 인증 주체 캐시에서 바로 반환하고, 그렇지 않으면 INSERT ... ON CONFLICT 한 문장으로 처리합니다.
+     */
+    @Transactional
+    public Users provisionSocialUser(String username) {
+        CustomUserDetails cached = principalCache.get(username);
+        if (cached != null) {
+            return cached.getUser();
+        }
+        Users user = usersRepository.insertOrFindByUsername(username, "ROLE_USER")
+                .or(() -> usersRepository.insertOrFindByUsername(username, "ROLE_USER"))
+                .orElseThrow(() -> new RuntimeException("소셜 로그인 사용자를 만들 수 없습니다."));
+        principalCache.put(new CustomUserDetails(user));
+        return user;
+    }
+
     public Users getUser(String username) {
         return usersRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
     }
 
+    // 권한 변경 등이 다음 요청부터 반영되도록 캐시된 인증 주체를 지웁니다.
     public void updateUsers(Users user) {
         usersRepository.save(user);
+        principalCache.invalidate(user.getUsername());
     }
     
 }
\ No newline at end of file
@@ -0,0 +1,174 @@
+package com.example.demo.sse;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import lombok.Getter;
+
+/**
+ * 하나의 SSE 클라이언트 연결을 나타냅니다.
+ * 레지스트리에 등록되는 단위이며, 연결 ID와 인증된 사용자 ID, SseEmitter, 그리고 클라이언트별 전송 대기열을 함께 보관합니다.
+ *
+ * 대기열은 짧은 임계 구역에서만 잠기며, 실제 소켓 쓰기는 잠금 밖에서 하나의 드레인 작업만 수행합니다.
+ */
+public class SseConnection {
+
+    /** offer 결과 */
+    public enum OfferResult { ACCEPTED, DROPPED, DUPLICATE, OVERFLOW_DISCONNECT, CLOSED }
+
+    @Getter
+    private final String id;
+    @Getter
+    private final String userId; // 인증되지 않은 구독자는 null (브로드캐스트만 수신)
+    @Getter
+    private final SseEmitter emitter;
+    @Getter
+    private final Instant connectedAt = Instant.now();
+
+    private final ArrayDeque<SseFrame> pending = new ArrayDeque<>();
+    private long replayedUpTo; // 재전송한 마지막 순번, pending 잠금으로 보호
+    // 생성 직후에는 드레인 권한을 잡아 두어, 재전송 이벤트가 대기열 앞에 들어가기 전까지 전송을 시작하지 않습니다.
+    private final AtomicBoolean draining = new AtomicBoolean(true);
+    @Getter
+    private volatile boolean closed;
+
+    public SseConnection(String id, String userId, SseEmitter emitter) {
+        this.id = id;
+        this.userId = userId;
+        this.emitter = emitter;
+    }
+
+    /**
+     * 전송 대기열에 이벤트를 추가합니다.
+     * @param frame 전송할 이벤트
+     * @param capacity 대기열 최대 크기
+     * @param policy 대기열이 가득 찼을 때의 정책
+     */
+    OfferResult offer(SseFrame frame, int capacity, SseOverflowPolicy policy) {
+        synchronized (pending) {
+            if (closed) {
+                return OfferResult.CLOSED;
+            }
+            // 재전송 구간에 이미 들어간 이벤트가 늦게 전달된 경우 (SseReplayBuffer는 저장 후 잠금 밖에서 전달합니다)
+            if (frame.getSequence() > 0 && frame.getSequence() <= replayedUpTo) {
+                return OfferResult.DUPLICATE;
+            }
+            if (pending.size() < capacity) {
+                addInOrder(frame);
+                return OfferResult.ACCEPTED;
+            }
+            switch (policy) {
+                case DISCONNECT:
+                    return OfferResult.OVERFLOW_DISCONNECT;
+                case COALESCE:
+                    if (replaceSameKey(frame)) {
+                        return OfferResult.DROPPED;
+                    }
+                    // 교체할 이벤트가 없으면 가장 오래된 이벤트를 버립니다.
+                default:
+                    pending.pollFirst();
+                    addInOrder(frame);
+                    return OfferResult.DROPPED;
+            }
+        }
+    }
+
+    // 순번이 있는 이벤트는 동시에 전달되면 순서가 바뀌어 들어올 수 있으므로, 뒤에서부터 더 큰 순번(과 그 사이의 순번 없는 이벤트)을 건너뛰고 넣습니다.
+    private void addInOrder(SseFrame frame) {
+        long sequence = frame.getSequence();
+        if (sequence <= 0 || lastSequence() <= sequence) {
+            pending.addLast(frame);
+            return;
+        }
+        ArrayDeque<SseFrame> later = new ArrayDeque<>();
+        while (!pending.isEmpty() && (pending.peekLast().getSequence() > sequence || pending.peekLast().getSequence() == 0)) {
+            later.addFirst(pending.pollLast());
+        }
+        pending.addLast(frame);
+        pending.addAll(later);
+    }
+
+    // 대기열에서 가장 뒤에 있는 순번 있는 이벤트의 순번 (없으면 0)
+    private long lastSequence() {
+        for (Iterator<SseFrame> it = pending.descendingIterator(); it.hasNext(); ) {
+            long sequence = it.next().getSequence();
+            if (sequence > 0) {
+                return sequence;
+            }
+        }
+        return 0;
+    }
+
+    private boolean replaceSameKey(SseFrame frame) {
+        String key = frame.getCoalesceKey();
+        if (key == null) {
+            return false;
+        }
+        for (Iterator<SseFrame> it = pending.iterator(); it.hasNext(); ) {
+            if (key.equals(it.next().getCoalesceKey())) {
+                it.remove();
+                pending.addLast(frame);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 재전송할 이벤트들을 대기열 맨 앞에 넣습니다.
+     * 그 사이 대기열에 들어온 실시간 이벤트 중 재전송 구간과 겹치는 것은 제거하고, 이후에 늦게 전달되는 것은 받지 않습니다.
+     */
+    void prependReplay(List<SseFrame> replay) {
+        if (replay.isEmpty()) {
+            return;
+        }
+        long lastReplayed = replay.get(replay.size() - 1).getSequence();
+        synchronized (pending) {
+            replayedUpTo = lastReplayed;
+            pending.removeIf(frame -> frame.getSequence() > 0 && frame.getSequence() <= lastReplayed);
+            for (int i = replay.size() - 1; i >= 0; i--) {
+                pending.addFirst(replay.get(i));
+            }
+        }
+    }
+
+    SseFrame poll() {
+        synchronized (pending) {
+            return pending.pollFirst();
+        }
+    }
+
+    boolean hasPending() {
+        synchronized (pending) {
+            return !pending.isEmpty();
+        }
+    }
+
+    public int pendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    /** 드레인 작업을 시작할 권한을 얻습니다. 이미 다른 스레드가 드레인 중이면 false를 반환합니다. */
+    boolean tryStartDrain() {
+        return draining.compareAndSet(false, true);
+    }
+
+    void finishDrain() {
+        draining.set(false);
+    }
+
+    /** 연결을 닫힌 상태로 표시하고 대기 중인 이벤트를 버립니다. */
+    void markClosed() {
+        synchronized (pending) {
+            closed = true;
+            pending.clear();
+        }
+    }
+}
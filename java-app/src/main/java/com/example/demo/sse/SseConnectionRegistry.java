@@ -0,0 +1,162 @@
+package com.example.demo.sse;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 현재 노드에 연결된 SSE 클라이언트들을 관리하는 레지스트리입니다.
+ *
+ * 내부 저장소로 ConcurrentHashMap을 사용하므로 등록/해제는 O(1)이며 잠금 없이 동작합니다.
+ * 브로드캐스트 시에는 맵을 복사하지 않고 약한 일관성(weakly consistent)을 가진 뷰를 그대로 순회합니다.
+ * 인증된 연결은 사용자 ID별 인덱스에도 등록되어, 수신자가 지정된 알림은 해당 사용자의 연결만 순회합니다.
+ * 연결 수는 Micrometer 게이지(sse.connections)와 관리자 API로 노드별로 확인할 수 있습니다.
+ */
+@Slf4j
+@Component
+public class SseConnectionRegistry {
+
+    private final ConcurrentHashMap<String, SseConnection> connections = new ConcurrentHashMap<>();
+    private final Collection<SseConnection> connectionsView = Collections.unmodifiableCollection(connections.values());
+    private final ConcurrentHashMap<String, Set<SseConnection>> connectionsByUser = new ConcurrentHashMap<>();
+    private final LongAdder totalRegistered = new LongAdder();
+    private final LongAdder totalDeregistered = new LongAdder();
+    private final List<SseUserPresenceListener> presenceListeners = new CopyOnWriteArrayList<>();
+    private final String nodeId;
+
+    public SseConnectionRegistry(@Value("${notification.node-id}") String nodeId, MeterRegistry meterRegistry) {
+        this.nodeId = nodeId;
+        Gauge.builder("sse.connections", connections, ConcurrentHashMap::mappingCount)
+                .description("현재 노드에 연결된 SSE 클라이언트 수")
+                .tag("node", nodeId)
+                .register(meterRegistry);
+        Gauge.builder("sse.connections.users", connectionsByUser, ConcurrentHashMap::size)
+                .description("현재 노드에 SSE로 연결된 사용자 수")
+                .tag("node", nodeId)
+                .register(meterRegistry);
+        FunctionCounter.builder("sse.connections.registered", totalRegistered, LongAdder::sum)
+                .tag("node", nodeId)
+                .register(meterRegistry);
+        FunctionCounter.builder("sse.connections.deregistered", totalDeregistered, LongAdder::sum)
+                .tag("node", nodeId)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 새 SseEmitter를 고유 ID와 함께 등록합니다.
+     * 등록된 연결은 {@link SseFanoutDispatcher#start}가 호출될 때까지 이벤트를 대기열에 쌓기만 합니다.
+     * @param emitter 등록할 SseEmitter
+     * @param userId 인증된 사용자 ID (익명 구독자는 null)
+     * @return 등록된 연결
+     */
+    public SseConnection register(SseEmitter emitter, String userId) {
+        SseConnection connection = new SseConnection(UUID.randomUUID().toString(), userId, emitter);
+        connections.put(connection.getId(), connection);
+        if (userId != null) {
+            AtomicBoolean first = new AtomicBoolean();
+            // compute는 키 단위로 원자적이므로 같은 사용자의 동시 등록/해제와 경합하지 않습니다.
+            connectionsByUser.compute(userId, (key, userConnections) -> {
+                Set<SseConnection> set = userConnections;
+                if (set == null) {
+                    set = ConcurrentHashMap.newKeySet();
+                    first.set(true);
+                }
+                set.add(connection);
+                return set;
+            });
+            if (first.get()) {
+                presenceListeners.forEach(listener -> listener.userOnline(userId));
+            }
+        }
+        totalRegistered.increment();
+        return connection;
+    }
+
+    /**
+     * 연결을 해제합니다. 타임아웃/완료/에러 콜백이 중복 호출되어도 한 번만 집계됩니다.
+     * @param id 연결 ID
+     * @return 실제로 제거되었으면 true
+     */
+    public boolean deregister(String id) {
+        SseConnection removed = connections.remove(id);
+        if (removed == null) {
+            return false;
+        }
+        String userId = removed.getUserId();
+        if (userId != null) {
+            AtomicBoolean last = new AtomicBoolean();
+            // 사용자의 마지막 연결이 끊기면 인덱스 항목도 제거합니다.
+            connectionsByUser.computeIfPresent(userId, (key, userConnections) -> {
+                userConnections.remove(removed);
+                if (userConnections.isEmpty()) {
+                    last.set(true);
+                    return null;
+                }
+                return userConnections;
+            });
+            if (last.get()) {
+                presenceListeners.forEach(listener -> listener.userOffline(userId));
+            }
+        }
+        // 아직 전송되지 않은 대기 이벤트는 버립니다.
+        removed.markClosed();
+        totalDeregistered.increment();
+        return true;
+    }
+
+    public SseConnection get(String id) {
+        return connections.get(id);
+    }
+
+    /**
+     * 등록된 연결들의 읽기 전용 뷰를 반환합니다. 복사본이 아니므로 순회 중 등록/해제가 일어나도 안전합니다.
+     */
+    public Collection<SseConnection> connections() {
+        return connectionsView;
+    }
+
+    /**
+     * 특정 사용자의 연결들을 반환합니다. 연결이 없으면 빈 집합을 반환합니다.
+     */
+    public Set<SseConnection> connectionsOf(String userId) {
+        Set<SseConnection> userConnections = connectionsByUser.get(userId);
+        return userConnections != null ? Collections.unmodifiableSet(userConnections) : Set.of();
+    }
+
+    /** 현재 노드에 하나 이상의 연결을 가진 사용자 ID들 (읽기 전용 뷰) */
+    public Set<String> connectedUsers() {
+        return Collections.unmodifiableSet(connectionsByUser.keySet());
+    }
+
+    public void addPresenceListener(SseUserPresenceListener listener) {
+        presenceListeners.add(listener);
+    }
+
+    /** 현재 노드에 하나 이상의 연결을 가진 사용자 수 */
+    public int userCount() {
+        return connectionsByUser.size();
+    }
+
+    public long size() {
+        return connections.mappingCount();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+}
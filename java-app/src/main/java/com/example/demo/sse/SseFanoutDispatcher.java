@@ -0,0 +1,195 @@
+package com.example.demo.sse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SSE 이벤트를 여러 클라이언트에게 병렬로 전달하는 fan-out 단계입니다.
+ *
+ * 호출 스레드(Redis 리스너 등)는 각 클라이언트의 제한된 대기열에 이벤트를 넣기만 하고 즉시 반환합니다.
+ * 실제 전송은 워커 풀에서 클라이언트별로 하나의 드레인 작업이 순서대로 수행하므로,
+ * 느린 클라이언트 하나가 다른 클라이언트나 Redis 구독 스레드를 막지 않습니다.
+ */
+@Slf4j
+@Component
+public class SseFanoutDispatcher {
+
+    private final SseConnectionRegistry connectionRegistry;
+    private final ExecutorService executor;
+    private final int queueCapacity;
+    private final SseOverflowPolicy overflowPolicy;
+    private final Counter droppedCounter;
+    private final Counter slowDisconnectCounter;
+    private final Counter sendFailureCounter;
+
+    public SseFanoutDispatcher(SseConnectionRegistry connectionRegistry,
+                               MeterRegistry meterRegistry,
+                               @Value("${notification.sse.queue-capacity:256}") int queueCapacity,
+                               @Value("${notification.sse.overflow-policy:DROP_OLDEST}") SseOverflowPolicy overflowPolicy,
+                               @Value("${notification.sse.dispatch-threads:0}") int dispatchThreads,
+                               @Value("${notification.sse.virtual-threads:false}") boolean virtualThreads) {
+        this.connectionRegistry = connectionRegistry;
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+        // SseEmitter.send는 synchronized 메서드라 JDK 21에서는 느린 소켓 쓰기가 가상 스레드의 캐리어를 고정(pinning)시킵니다.
+        // 그래서 기본값은 크기가 제한된 플랫폼 스레드 풀이며, 가상 스레드는 설정으로만 켭니다.
+        if (virtualThreads) {
+            this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-dispatch-", 0).factory());
+        } else {
+            int threads = dispatchThreads > 0 ? dispatchThreads : Runtime.getRuntime().availableProcessors() * 2;
+            this.executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("sse-dispatch-"));
+        }
+        String nodeId = connectionRegistry.getNodeId();
+        this.droppedCounter = Counter.builder("sse.frames.dropped")
+                .description("대기열 초과로 버려진 SSE 이벤트 수")
+                .tag("node", nodeId)
+                .register(meterRegistry);
+        this.slowDisconnectCounter = Counter.builder("sse.connections.slow.disconnected")
+                .description("대기열 초과로 연결이 끊긴 느린 클라이언트 수")
+                .tag("node", nodeId)
+                .register(meterRegistry);
+        this.sendFailureCounter = Counter.builder("sse.frames.failed")
+                .description("전송 중 오류가 발생한 SSE 이벤트 수")
+                .tag("node", nodeId)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 새로 등록된 연결의 전송을 시작합니다. 재전송할 이벤트가 있으면 실시간 이벤트보다 먼저 보냅니다.
+     * 레지스트리에 등록된 연결은 이 메서드가 호출되기 전까지 이벤트를 쌓아 두기만 합니다.
+     */
+    public void start(SseConnection connection, List<SseFrame> replay) {
+        connection.prependReplay(replay);
+        connection.finishDrain();
+        if (connection.hasPending()) {
+            scheduleDrain(connection);
+        }
+    }
+
+    /**
+     * 현재 노드에 연결된 모든 클라이언트에게 이벤트를 전달합니다.
+     * @param frame 전송할 이벤트 (모든 클라이언트가 같은 인스턴스를 공유)
+     */
+    public void broadcast(SseFrame frame) {
+        for (SseConnection connection : connectionRegistry.connections()) {
+            send(connection, frame);
+        }
+    }
+
+    /**
+     * 현재 노드에 연결된 특정 사용자의 클라이언트들에게만 이벤트를 전달합니다.
+     * @return 이벤트를 넣은 연결 수
+     */
+    public int sendToUser(String userId, SseFrame frame) {
+        int count = 0;
+        for (SseConnection connection : connectionRegistry.connectionsOf(userId)) {
+            send(connection, frame);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 특정 클라이언트의 대기열에 이벤트를 넣고, 필요하면 드레인 작업을 예약합니다.
+     */
+    public void send(SseConnection connection, SseFrame frame) {
+        switch (connection.offer(frame, queueCapacity, overflowPolicy)) {
+            case CLOSED:
+            case DUPLICATE:
+                return;
+            case OVERFLOW_DISCONNECT:
+                log.warn("클라이언트 {}의 전송 대기열이 가득 차 연결을 종료합니다.", connection.getId());
+                slowDisconnectCounter.increment();
+                // 호출자가 잠금을 잡고 있을 수 있으므로 연결 종료(레지스트리/프레즌스 정리)는 워커에서 수행합니다.
+                connection.markClosed();
+                executor.execute(() -> close(connection, null));
+                return;
+            case DROPPED:
+                droppedCounter.increment();
+                break;
+            default:
+                break;
+        }
+        scheduleDrain(connection);
+    }
+
+    private void scheduleDrain(SseConnection connection) {
+        if (!connection.tryStartDrain()) {
+            return;
+        }
+        try {
+            executor.execute(() -> drain(connection));
+        } catch (RuntimeException e) {
+            // 종료 중이라 작업을 받을 수 없는 경우
+            connection.finishDrain();
+            log.debug("SSE 드레인 작업을 예약하지 못했습니다. 클라이언트 ID: {}", connection.getId());
+        }
+    }
+
+    private void drain(SseConnection connection) {
+        while (true) {
+            SseFrame frame = connection.poll();
+            if (frame == null) {
+                connection.finishDrain();
+                // 드레인 종료 직전에 들어온 이벤트가 있으면 다시 드레인 권한을 얻어 이어서 처리합니다.
+                if (connection.hasPending() && connection.tryStartDrain()) {
+                    continue;
+                }
+                return;
+            }
+            try {
+                connection.getEmitter().send(frame.getItems());
+            } catch (IOException | IllegalStateException e) {
+                // 이미 닫혔거나 끊어진 연결
+                log.debug("클라이언트 {}에게 메시지 전송 실패: {}", connection.getId(), e.getMessage());
+                sendFailureCounter.increment();
+                close(connection, e);
+                connection.finishDrain();
+                return;
+            } catch (Exception e) {
+                log.error("클라이언트 {}에게 메시지 전송 중 오류 발생: {}", connection.getId(), e.getMessage());
+                sendFailureCounter.increment();
+                close(connection, e);
+                connection.finishDrain();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 연결을 닫고 레지스트리에서 제거합니다.
+     */
+    public void close(SseConnection connection, Throwable cause) {
+        connection.markClosed();
+        connectionRegistry.deregister(connection.getId());
+        try {
+            if (cause == null) {
+                connection.getEmitter().complete();
+            } else {
+                connection.getEmitter().completeWithError(cause);
+            }
+        } catch (Exception e) {
+            log.debug("SSE 연결 종료 중 오류: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.demo.sse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+
+/**
+ * 클라이언트들에게 전송할 하나의 SSE 이벤트입니다.
+ *
+ * 이벤트 프레임(id/event/data 필드와 빈 줄)을 생성 시점에 UTF-8 바이트로 한 번만 직렬화합니다.
+ * 모든 구독자의 전송 대기열이 같은 바이트 배열을 공유하고, 전송 시에는 ByteArrayHttpMessageConverter가
+ * 이를 그대로 출력 스트림에 쓰므로 클라이언트 수만큼 프레임을 다시 만들거나 인코딩하지 않습니다.
+ */
+public final class SseFrame {
+
+    private final byte[] bytes;
+    private final Set<DataWithMediaType> items;
+    private final long sequence;
+    private final String coalesceKey;
+
+    private SseFrame(byte[] bytes, long sequence, String coalesceKey) {
+        this.bytes = bytes;
+        this.items = Set.of(new DataWithMediaType(bytes, MediaType.TEXT_PLAIN));
+        this.sequence = sequence;
+        this.coalesceKey = coalesceKey;
+    }
+
+    public static SseFrame of(String eventName, String data) {
+        return of(eventName, data, null);
+    }
+
+    /**
+     * @param coalesceKey 대기열에서 최신 값 하나만 유지해도 되는 이벤트의 키 (없으면 null)
+     */
+    public static SseFrame of(String eventName, String data, String coalesceKey) {
+        return new SseFrame(encode(null, eventName, data), 0, coalesceKey);
+    }
+
+    /**
+     * 이미 UTF-8로 인코딩된 데이터(예: Redis 메시지 본문)로 프레임을 만듭니다.
+     * 데이터에 줄바꿈이 없으면 문자열로 디코딩하지 않고 바이트를 그대로 이어 붙입니다.
+     */
+    public static SseFrame ofUtf8(String eventName, byte[] data, String coalesceKey) {
+        return ofUtf8(null, 0, eventName, data, coalesceKey);
+    }
+
+    /**
+     * 재연결 시 재전송할 수 있도록 이벤트 ID가 붙은 프레임을 만듭니다.
+     * @param id 클라이언트에게 전달되는 이벤트 ID (Last-Event-ID로 돌아옴)
+     * @param sequence 이벤트 ID에 대응하는 단조 증가 순번
+     */
+    public static SseFrame ofUtf8(String id, long sequence, String eventName, byte[] data, String coalesceKey) {
+        for (byte b : data) {
+            if (b == '\n') {
+                return new SseFrame(encode(id, eventName, new String(data, StandardCharsets.UTF_8)), sequence, coalesceKey);
+            }
+        }
+        String header = (id != null ? "id:" + id + "\n" : "") + "event:" + eventName + "\ndata:";
+        byte[] prefix = header.getBytes(StandardCharsets.UTF_8);
+        byte[] frame = new byte[prefix.length + data.length + 2];
+        System.arraycopy(prefix, 0, frame, 0, prefix.length);
+        System.arraycopy(data, 0, frame, prefix.length, data.length);
+        frame[frame.length - 2] = '\n';
+        frame[frame.length - 1] = '\n';
+        return new SseFrame(frame, sequence, coalesceKey);
+    }
+
+    /**
+     * SseEmitter.event()가 만드는 것과 같은 형식으로 프레임을 직렬화합니다.
+     * 여러 줄로 된 데이터는 줄마다 "data:" 접두어를 붙입니다.
+     */
+    private static byte[] encode(String id, String eventName, String data) {
+        StringBuilder sb = new StringBuilder(eventName.length() + data.length() + 32);
+        if (id != null) {
+            sb.append("id:").append(id).append('\n');
+        }
+        sb.append("event:").append(eventName).append('\n');
+        sb.append("data:").append(data.replace("\n", "\ndata:")).append('\n');
+        sb.append('\n');
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** SseEmitter.send(Set)에 그대로 넘길 수 있는 전송 단위입니다. */
+    public Set<DataWithMediaType> getItems() {
+        return items;
+    }
+
+    /** 직렬화된 프레임 크기 (바이트) */
+    public int length() {
+        return bytes.length;
+    }
+
+    /** 이벤트 순번 (재전송 대상이 아닌 이벤트는 0) */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getCoalesceKey() {
+        return coalesceKey;
+    }
+}
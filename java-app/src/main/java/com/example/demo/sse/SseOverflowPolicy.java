@@ -0,0 +1,19 @@
+package com.example.demo.sse;
+
+/**
+ * 클라이언트별 전송 대기열이 가득 찼을 때의 처리 정책입니다.
+ */
+public enum SseOverflowPolicy {
+
+    /** 가장 오래된 대기 이벤트를 버리고 새 이벤트를 넣습니다. */
+    DROP_OLDEST,
+
+    /**
+     * 같은 coalesce 키를 가진 대기 이벤트가 있으면 새 이벤트로 교체합니다.
+     * 교체할 이벤트가 없으면 DROP_OLDEST와 같이 동작합니다.
+     */
+    COALESCE,
+
+    /** 느린 클라이언트로 보고 연결을 끊습니다. 클라이언트는 재연결 후 다시 수신합니다. */
+    DISCONNECT
+}
@@ -0,0 +1,100 @@
+package com.example.demo.sse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 최근 SSE 이벤트를 보관하는 노드별 고정 크기 링 버퍼입니다.
+ *
+ * 이벤트 ID는 "{epoch}-{순번}" 형식이며, epoch는 노드(프로세스)가 시작될 때 정해집니다.
+ * 재연결한 클라이언트의 Last-Event-ID가 같은 epoch이고 버퍼에 아직 남아 있는 구간이면
+ * 그 이후의 이벤트만 재전송하고, 그렇지 않으면(다른 노드, 재시작, 버퍼 초과) 재전송할 수 없음을 알립니다.
+ */
+@Component
+public class SseReplayBuffer {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final SseFrame[] frames;
+    private final String[] recipients;
+    private long nextSequence = 1; // this 잠금으로 보호
+
+    public SseReplayBuffer(@Value("${notification.sse.replay-buffer-size:1024}") int capacity) {
+        this.frames = new SseFrame[capacity];
+        this.recipients = new String[capacity];
+    }
+
+    /**
+     * 새 이벤트에 순번을 부여하고 버퍼에 저장한 뒤 전달합니다. 가장 오래된 이벤트는 덮어써집니다.
+     *
+     * 잠금은 순번 부여와 저장에만 잡고, 전달(delivery, 모든 연결에 대한 팬아웃)은 잠금 밖에서 수행해
+     * 다른 이벤트의 저장과 재연결 시의 {@link #framesAfter}를 막지 않습니다.
+     * 저장이 전달보다 먼저이므로 재전송 구간과 실시간 이벤트 사이에 빠지는 이벤트는 없으며,
+     * 겹치거나 순서가 바뀌어 전달된 이벤트는 클라이언트 대기열(SseConnection)이 순번으로 걸러내고 정렬합니다.
+     *
+     * @param recipientId 수신자 ID (브로드캐스트는 null)
+     * @param delivery 이벤트 ID가 붙은 프레임을 클라이언트 대기열에 넣는 작업
+     */
+    public SseFrame append(String eventName, byte[] data, String recipientId, Consumer<SseFrame> delivery) {
+        SseFrame frame;
+        synchronized (this) {
+            long sequence = nextSequence++;
+            frame = SseFrame.ofUtf8(epoch + "-" + sequence, sequence, eventName, data, null);
+            int slot = (int) (sequence % frames.length);
+            frames[slot] = frame;
+            recipients[slot] = recipientId;
+        }
+        delivery.accept(frame);
+        return frame;
+    }
+
+    /**
+     * 지금까지 저장된 마지막 이벤트의 ID입니다. (아직 없으면 순번 0)
+     * 새 연결의 재개 지점으로 쓰여, 순번이 있는 이벤트를 받기 전에 끊긴 클라이언트도 재연결 시 놓친 이벤트를 받습니다.
+     */
+    public synchronized String currentEventId() {
+        return epoch + "-" + (nextSequence - 1);
+    }
+
+    /**
+     * Last-Event-ID 이후에 발생한, 해당 사용자가 받아야 할 이벤트들을 순서대로 반환합니다.
+     * @param lastEventId 클라이언트가 마지막으로 받은 이벤트 ID (없으면 재전송하지 않음)
+     * @param userId 구독자 ID (익명은 null이며 브로드캐스트만 재전송)
+     * @return 재전송할 이벤트 목록, 누락 구간을 채울 수 없으면 null
+     */
+    public synchronized List<SseFrame> framesAfter(String lastEventId, String userId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        long lastSequence = parseSequence(lastEventId);
+        long oldest = Math.max(1, nextSequence - frames.length);
+        if (lastSequence < 0 || lastSequence >= nextSequence || lastSequence < oldest - 1) {
+            return null;
+        }
+        List<SseFrame> result = new ArrayList<>();
+        for (long sequence = lastSequence + 1; sequence < nextSequence; sequence++) {
+            int slot = (int) (sequence % frames.length);
+            String recipient = recipients[slot];
+            if (recipient == null || recipient.equals(userId)) {
+                result.add(frames[slot]);
+            }
+        }
+        return result;
+    }
+
+    // 다른 epoch이거나 형식이 맞지 않으면 -1
+    private long parseSequence(String eventId) {
+        int dash = eventId.lastIndexOf('-');
+        if (dash <= 0 || !epoch.equals(eventId.substring(0, dash))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
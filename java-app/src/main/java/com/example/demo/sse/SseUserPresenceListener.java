@@ -0,0 +1,12 @@
+package com.example.demo.sse;
+
+/**
+ * 사용자가 현재 노드에서 처음 연결되거나 마지막 연결이 끊겼을 때 호출되는 리스너입니다.
+ * 레지스트리 내부 잠금 밖에서 호출되며, 같은 사용자에 대한 호출 순서는 보장되지 않습니다.
+ */
+public interface SseUserPresenceListener {
+
+    void userOnline(String userId);
+
+    void userOffline(String userId);
+}
@@ -1,52 +0,0 @@
-package com.example.demo.util;
-
-import javax.crypto.Cipher;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.util.Arrays;
-import java.util.Base64;
-
-public class EncryptionUtil {
-
-    // !!! IMPORTANT: In a production environment, this key MUST NOT be hardcoded.
-    // It should be loaded from a secure environment variable, a key management service (KMS),
-    // or a secrets vault.
-    private static final String SECRET_KEY = "thisisasecretkeyforrefresh"; // Must be 16, 24, or 32 bytes for AES-128, AES-192, AES-256
-    private static SecretKeySpec secretKey;
-    private static byte[] key;
-
-    static {
-        try {
-            key = SECRET_KEY.getBytes(StandardCharsets.UTF_8);
-            MessageDigest sha = MessageDigest.getInstance("SHA-1");
-            key = sha.digest(key);
-            key = Arrays.copyOf(key, 16); // Use only first 128 bit (16 bytes)
-            secretKey = new SecretKeySpec(key, "AES");
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-    }
-
-    public static String encrypt(String strToEncrypt) {
-        try {
-            Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey);
-            return Base64.getEncoder().encodeToString(cipher.doFinal(strToEncrypt.getBytes(StandardCharsets.UTF_8)));
-        } catch (Exception e) {
-            System.out.println("Error while encrypting: " + e.toString());
-        }
-        return null;
-    }
-
-    public static String decrypt(String strToDecrypt) {
-        try {
-            Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
-            cipher.init(Cipher.DECRYPT_MODE, secretKey);
-            return new String(cipher.doFinal(Base64.getDecoder().decode(strToDecrypt)));
-        } catch (Exception e) {
-            System.out.println("Error while decrypting: " + e.toString());
-        }
-        return null;
-    }
-}
@@ -0,0 +1,126 @@
+package com.example.demo.util;
+
+import java.security.Key;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JWT 서명 키 목록(키 링)입니다. 모든 노드가 같은 설정을 쓰므로 어느 노드에서 발급한 토큰이든 검증할 수 있습니다.
+ *
+ * 설정: jwt.keys=kid:Base64비밀키[@활성화시각], ... (비밀키는 32바이트 이상)
+ * 예) jwt.keys=2026-09:AAAA...,2026-12:BBBB...@2026-12-01T00:00:00Z
+ *
+ * 서명에는 활성화 시각이 지난 키 중 가장 최근 키를 쓰고, 토큰 헤더에 kid를 넣습니다.
+ * 검증은 kid로 키 링의 키를 찾으므로 목록에 남아 있는 이전 키로 서명된 토큰도 만료 전까지 유효합니다.
+ * 새 키를 미래의 활성화 시각과 함께 미리 배포해 두면 모든 노드가 그 시각에 동시에 새 키로 서명을 시작하고,
+ * 이전 키는 마지막으로 서명한 토큰이 만료된 뒤(리프레시 토큰 기간 이후) 목록에서 빼면 됩니다.
+ * 설정하지 않으면 시작할 때 임의의 키를 만들므로 재시작하거나 노드가 여러 대이면 토큰이 무효가 됩니다.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing extends SigningKeyResolverAdapter {
+
+    /** kid가 있는 서명 키 */
+    public record SigningKey(String id, Key key, Instant activeFrom) {
+    }
+
+    private final Map<String, SigningKey> keys;
+    private final List<SigningKey> byActivation; // 활성화 시각 순
+    private volatile SigningKey current;
+
+    public JwtKeyRing(@Value("${jwt.keys:}") String keySpec) {
+        List<SigningKey> parsed = keySpec.isBlank() ? List.of(randomKey()) : parse(keySpec);
+        this.keys = parsed.stream().collect(Collectors.toUnmodifiableMap(SigningKey::id, Function.identity()));
+        this.byActivation = parsed.stream().sorted(Comparator.comparing(SigningKey::activeFrom)).toList();
+        this.current = select(Instant.now());
+    }
+
+    private static SigningKey randomKey() {
+        log.warn("jwt.keys가 설정되지 않아 임의의 서명 키를 사용합니다. 재시작하거나 다른 노드로 요청이 가면 토큰이 무효가 됩니다.");
+        return new SigningKey("local", Keys.secretKeyFor(SignatureAlgorithm.HS256), Instant.EPOCH);
+    }
+
+    private static List<SigningKey> parse(String keySpec) {
+        List<SigningKey> parsed = new ArrayList<>();
+        for (String entry : keySpec.split(",")) {
+            entry = entry.trim();
+            int colon = entry.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("jwt.keys 항목은 kid:Base64비밀키[@활성화시각] 형식이어야 합니다.");
+            }
+            String id = entry.substring(0, colon);
+            String secret = entry.substring(colon + 1);
+            Instant activeFrom = Instant.EPOCH;
+            int at = secret.indexOf('@');
+            if (at >= 0) {
+                activeFrom = Instant.parse(secret.substring(at + 1));
+                secret = secret.substring(0, at);
+            }
+            parsed.add(new SigningKey(id, Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret)), activeFrom));
+        }
+        return parsed;
+    }
+
+    // 활성화 시각이 지난 키 중 가장 최근 키 (모두 미래이면 가장 이른 키)
+    SigningKey select(Instant now) {
+        SigningKey selected = byActivation.get(0);
+        for (SigningKey key : byActivation) {
+            if (!key.activeFrom().isAfter(now)) {
+                selected = key;
+            }
+        }
+        return selected;
+    }
+
+    /** 새 토큰에 서명할 키 */
+    public SigningKey current() {
+        return current;
+    }
+
+    /**
+     * 활성화 시각이 된 키로 서명 키를 바꿉니다.
+     */
+    @Scheduled(fixedDelayString = "${jwt.key-rotation-check-ms:60000}")
+    public void rotate() {
+        SigningKey next = select(Instant.now());
+        if (next != current) {
+            log.info("JWT 서명 키를 {}에서 {}로 교체합니다.", current.id(), next.id());
+            current = next;
+        }
+    }
+
+    /**
+     * 토큰 헤더의 kid로 검증 키를 찾습니다. kid가 없으면 현재 서명 키로 검증합니다.
+     */
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String id = header.getKeyId();
+        if (id == null) {
+            return current.key();
+        }
+        SigningKey key = keys.get(id);
+        if (key == null) {
+            // 키 링에 없는 키로 서명된 토큰은 서명 검증 실패로 처리됩니다.
+            throw new SignatureException("알 수 없는 서명 키입니다: " + id);
+        }
+        return key.key();
+    }
+}
@@ -1,53 +1,73 @@
 package com.example.demo.util;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
 import org.springframework.beans.factory.annotation.Value;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 
-import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
 
-    private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256); // 랜덤 키
+    /** 서명과 만료를 검증한 토큰에서 인증에 쓰는 값 (role 클레임이 없으면 role은 null) */
+    public record VerifiedToken(String subject, String role) {
+    }
+
+    private final JwtKeyRing keyRing;
+    // 파서는 불변이고 스레드 안전하므로 하나를 만들어 재사용합니다. 검증 키는 토큰의 kid로 키 링에서 찾습니다.
+    private final JwtParser parser;
+    private final VerifiedTokenCache verifiedTokens;
+
     @Value("${jwt.access-token.expiration-minutes:30}")
     private int accessTokenMinutes; // 분 단위
 
     @Value("${jwt.refresh-token.expiration-days:7}")
     private int refreshTokenDays; // 일 단위
 
+    public JwtTokenProvider(JwtKeyRing keyRing,
+                            @Value("${jwt.verified-cache.max-size:10000}") int verifiedCacheSize) {
+        this.keyRing = keyRing;
+        this.parser = Jwts.parserBuilder().setSigningKeyResolver(keyRing).build();
+        this.verifiedTokens = new VerifiedTokenCache(verifiedCacheSize);
+    }
+
     public String generateToken(String username) {
-        return Jwts.builder()
+        return signed(Jwts.builder())
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + accessTokenMinutes * 60 * 1000L))
-                .signWith(key)
                 .compact();
     }
 
     public String generateAccessToken(String username, String role) {
-        return Jwts.builder()
+        return signed(Jwts.builder())
                 .setSubject(username)
                 .claim("role", role)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + accessTokenMinutes * 60 * 1000L))
-                .signWith(key)
                 .compact();
     }
 
+    // 같은 사용자가 같은 시각에 여러 기기에서 로그인해도 세션 키(토큰 해시)가 겹치지 않도록 jti를 넣습니다.
     public String generateRefreshToken(String username) {
-        return Jwts.builder()
+        return signed(Jwts.builder())
                 .setSubject(username)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + refreshTokenDays * 24L * 60 * 60 * 1000))
-                .signWith(key)
                 .compact();
     }
 
+    // 현재 서명 키로 서명하고 헤더에 kid를 넣습니다.
+    private JwtBuilder signed(JwtBuilder builder) {
+        JwtKeyRing.SigningKey signingKey = keyRing.current();
+        return builder.setHeaderParam(JwsHeader.KEY_ID, signingKey.id())
+                .signWith(signingKey.key());
+    }
+
     public void setRefreshTokenCookie(HttpServletResponse response, String refreshToken) {
         Cookie refreshCookie = new Cookie("refreshToken", refreshToken);
         refreshCookie.setHttpOnly(true);
@@ -64,20 +84,38 @@ public class JwtTokenProvider {
         response.addCookie(refreshCookie);
     }
 
+    /**
+     * 서명과 만료를 한 번에 검증하고 토큰의 사용자와 역할을 반환합니다.
+     * 최근에 검증한 토큰은 캐시에서 바로 반환하므로 서명을 다시 검증하지 않습니다. (만료 시각이 없는 토큰은 캐시하지 않음)
+     * @return 검증된 토큰 내용, 토큰이 유효하지 않으면 null
+     */
+    public VerifiedToken getVerifiedToken(String token) {
+        VerifiedToken verified = verifiedTokens.get(token);
+        if (verified != null) {
+            return verified;
+        }
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+            verified = new VerifiedToken(claims.getSubject(), claims.get("role", String.class));
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(token, verified, claims.getExpiration().getTime());
+        }
+        return verified;
+    }
+
     public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        VerifiedToken verified = getVerifiedToken(token);
+        if (verified == null) {
+            throw new JwtException("유효하지 않은 토큰입니다.");
+        }
+        return verified.subject();
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(key).build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return getVerifiedToken(token) != null;
     }
-}
\ No newline at end of file
+}
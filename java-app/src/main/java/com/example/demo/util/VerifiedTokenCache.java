@@ -0,0 +1,85 @@
+package com.example.demo.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 서명 검증을 마친 토큰의 내용을 토큰 해시(SHA-256)별로 보관하는 크기 제한 캐시입니다.
+ *
+ * 같은 SPA 세션이 같은 액세스 토큰으로 반복해서 요청하면 HMAC 검증과 파싱을 건너뜁니다.
+ * 항목은 토큰의 만료 시각까지만 유효하며, 최대 크기를 넘으면 가장 오래 사용하지 않은 항목부터 버립니다.
+ * 토큰 원문 대신 해시를 키로 써서 캐시에 토큰이 그대로 남지 않게 합니다.
+ * 보관하는 값은 불변이므로 여러 요청이 같은 항목을 함께 써도 안전합니다.
+ */
+class VerifiedTokenCache {
+
+    private record Entry(JwtTokenProvider.VerifiedToken token, long expiresAt) {
+    }
+
+    // MessageDigest는 스레드 안전하지 않으므로 스레드마다 하나씩 만들어 재사용합니다.
+    private static final ThreadLocal<MessageDigest> DIGESTS = ThreadLocal.withInitial(VerifiedTokenCache::newDigest);
+
+    private final int maxSize;
+    private final Map<String, Entry> entries; // this 잠금으로 보호
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize || eldest.getValue().expiresAt() <= System.currentTimeMillis();
+            }
+        };
+    }
+
+    /**
+     * @return 캐시된 토큰 내용, 없거나 토큰이 만료되었으면 null
+     */
+    JwtTokenProvider.VerifiedToken get(String token) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        String key = hash(token);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() <= System.currentTimeMillis()) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.token();
+        }
+    }
+
+    /**
+     * 검증된 토큰의 내용을 만료 시각(epoch ms)까지 보관합니다.
+     */
+    void put(String token, JwtTokenProvider.VerifiedToken verified, long expiresAt) {
+        if (maxSize <= 0) {
+            return;
+        }
+        String key = hash(token);
+        synchronized (this) {
+            entries.put(key, new Entry(verified, expiresAt));
+        }
+    }
+
+    private static String hash(String token) {
+        byte[] digest = DIGESTS.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
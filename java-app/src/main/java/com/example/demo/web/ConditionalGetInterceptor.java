@@ -0,0 +1,54 @@
+package com.example.demo.web;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.example.demo.redis.ResourceVersions;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link VersionedResource}가 붙은 GET 요청의 ETag를 리소스 버전으로 만듭니다.
+ * If-None-Match가 현재 ETag와 같으면 핸들러(와 DB 조회, JSON 직렬화)를 건너뛰고 304로 응답합니다.
+ * 그렇지 않으면 ETag를 요청 속성에 두고, {@link VersionedResponseAdvice}가 2xx 응답에만 붙입니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    /** 핸들러 응답에 붙일 ETag를 담는 요청 속성 */
+    static final String ETAG_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".ETAG";
+
+    private final ResourceVersions resourceVersions;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        VersionedResource versioned = handlerMethod.getMethodAnnotation(VersionedResource.class);
+        if (versioned == null) {
+            return true;
+        }
+        Long version = resourceVersions.current(versioned.value());
+        if (version == null) {
+            return true;
+        }
+        // 응답 본문이 같은 버전에서 바이트 단위로 같으면 강한 ETag를, 추정치처럼 버전과 무관한 값이 섞이면 약한 ETag를 씁니다.
+        String etag = (versioned.weak() ? "W/" : "") + "\"" + versioned.value() + "-" + version + "\"";
+        // 응답 없이 비교만 합니다. (핸들러가 오류로 응답할 수 있으므로 여기서는 ETag를 붙이지 않습니다)
+        if (new ServletWebRequest(request).checkNotModified(etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            return false;
+        }
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        return true;
+    }
+}
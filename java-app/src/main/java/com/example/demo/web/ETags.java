@@ -0,0 +1,34 @@
+package com.example.demo.web;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * 버전 번호가 없는 응답의 ETag를 엔티티 필드 값으로 만듭니다. 응답 JSON을 직렬화해 해시하지 않습니다.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * @param fields 응답 내용을 결정하는 값들 (순서대로 해시)
+     * @return 강한 ETag (따옴표 포함)
+     */
+    public static String of(String prefix, Iterable<?> fields) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (Object field : fields) {
+            digest.update(String.valueOf(field).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        byte[] hash = digest.digest();
+        return "\"" + prefix + "-" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22) + "\"";
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.web;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 응답이 리소스 버전({@link com.example.demo.redis.ResourceVersions})에 따라서만 바뀌는 GET 핸들러에 붙입니다.
+ * {@link ConditionalGetInterceptor}가 버전으로 ETag를 만들고, If-None-Match가 같으면 핸들러를 실행하지 않고 304로 응답합니다.
+ * 사용자에 따라 내용이 달라지는 응답에는 붙이면 안 됩니다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface VersionedResource {
+
+    /** 리소스 이름 (예: {@link com.example.demo.redis.ResourceVersions#ITEMS}) */
+    String value();
+
+    /**
+     * 응답에 버전과 무관하게 바뀌는 값(전체 개수 추정치 등)이 들어가면 true로 두어 약한 ETag(W/)를 씁니다.
+     */
+    boolean weak() default false;
+}
@@ -0,0 +1,44 @@
+package com.example.demo.web;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * {@link ConditionalGetInterceptor}가 만든 ETag를 {@link VersionedResource} 핸들러의 2xx 응답에만 붙입니다.
+ * 잘못된 요청(400) 등 오류 응답에 ETag가 붙어 클라이언트가 이를 캐시 검증에 쓰는 일이 없도록 합니다.
+ */
+@ControllerAdvice
+public class VersionedResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+                            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(VersionedResource.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  @NonNull MethodParameter returnType,
+                                  @NonNull MediaType selectedContentType,
+                                  @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  @NonNull ServerHttpRequest request,
+                                  @NonNull ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && response instanceof ServletServerHttpResponse servletResponse
+                && servletRequest.getServletRequest().getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE) instanceof String etag
+                && HttpStatusCode.valueOf(servletResponse.getServletResponse().getStatus()).is2xxSuccessful()
+                && response.getHeaders().getETag() == null) {
+            response.getHeaders().setETag(etag);
+        }
+        return body;
+    }
+}
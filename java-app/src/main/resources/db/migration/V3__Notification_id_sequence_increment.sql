@@ -0,0 +1,3 @@
+-- Let Hibernate allocate notification IDs in blocks of 50 (pooled optimizer)
+-- so that INSERTs can be grouped into JDBC batches. Must match allocationSize in Notification.
+ALTER SEQUENCE notifications_id_seq INCREMENT BY 50;
@@ -0,0 +1,9 @@
+-- Composite index for the keyset (cursor) inbox query:
+--   WHERE recipient_id = ? (or IS NULL for broadcasts) AND (created_at, id) < (?, ?)
+--   ORDER BY created_at DESC, id DESC LIMIT ?
+-- Each page is a bounded index range scan, regardless of how deep the cursor is.
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_created_id
+    ON notifications (recipient_id, created_at DESC, id DESC);
+
+-- The single-column recipient index is a prefix of the composite index above.
+DROP INDEX IF EXISTS idx_notifications_recipient_id;
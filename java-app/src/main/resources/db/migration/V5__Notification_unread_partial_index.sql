@@ -0,0 +1,8 @@
+-- Unread counts are computed per recipient only over unread rows.
+-- A partial index keeps that lookup proportional to the unread rows instead of the whole table.
+CREATE INDEX IF NOT EXISTS idx_notifications_unread_recipient
+    ON notifications (recipient_id)
+    WHERE is_read = false;
+
+-- The boolean index has too few distinct values to be selective and is superseded by the partial index above.
+DROP INDEX IF EXISTS idx_notifications_is_read;
@@ -0,0 +1,23 @@
+-- Item search used lower(name) LIKE '%x%' OR lower(description) LIKE '%x%', which no index can serve.
+
+-- Full-text search over name (weight A) and description (weight B).
+-- The 'simple' configuration does no language-specific stemming, so Korean and English words are indexed as written.
+-- The column is generated, so existing rows are filled once here and every INSERT/UPDATE keeps it current.
+ALTER TABLE item
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_item_search_vector
+    ON item USING GIN (search_vector);
+
+-- Trigram index for substring matches inside a word (name ILIKE '%x%'), which prefix tsquery cannot express.
+-- Only name is indexed; description is unbounded text and is covered by the tsvector above.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_item_name_trgm
+    ON item USING GIN (name gin_trgm_ops);
+
+COMMENT ON COLUMN item.search_vector IS '검색용 tsvector (이름 A, 설명 B 가중치, 자동 생성)';
@@ -0,0 +1,6 @@
+-- Composite index for the keyset (cursor) item listing sorted by name:
+--   WHERE (name, id) > (?, ?) ORDER BY name, id LIMIT ?   (descending order scans the same index backwards)
+-- Each page is a bounded index range scan, regardless of how deep the cursor is.
+-- Listing by id uses the primary key.
+CREATE INDEX IF NOT EXISTS idx_item_name_id
+    ON item (name, id);
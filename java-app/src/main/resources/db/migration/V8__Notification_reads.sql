@@ -0,0 +1,14 @@
+-- Per-user read state for broadcast notifications (recipient_id IS NULL).
+-- notifications.is_read is shared by every reader, so it is only used for notifications sent to a single user.
+-- A broadcast is read by a user when a row exists here.
+CREATE TABLE IF NOT EXISTS notification_reads (
+    user_id VARCHAR(255) NOT NULL,
+    notification_id BIGINT NOT NULL REFERENCES notifications(id) ON DELETE CASCADE,
+    read_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id, notification_id)
+);
+
+COMMENT ON TABLE notification_reads IS '브로드캐스트 알림의 사용자별 읽음 기록';
+COMMENT ON COLUMN notification_reads.user_id IS '읽은 사용자 ID';
+COMMENT ON COLUMN notification_reads.notification_id IS '브로드캐스트 알림 ID';
+COMMENT ON COLUMN notification_reads.read_at IS '읽은 일시';
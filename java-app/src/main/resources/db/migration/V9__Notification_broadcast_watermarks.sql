@@ -0,0 +1,16 @@
+-- Per-user read watermark for broadcast notifications.
+-- "Mark all as read" used to insert one notification_reads row per broadcast per user.
+-- It now only moves this watermark: every broadcast at or before (read_up_to_created_at, read_up_to_id) is read.
+-- notification_reads keeps rows only for broadcasts read one by one above the watermark.
+CREATE TABLE IF NOT EXISTS notification_broadcast_watermarks (
+    user_id VARCHAR(255) PRIMARY KEY,
+    read_up_to_created_at TIMESTAMP NOT NULL,
+    read_up_to_id BIGINT NOT NULL,
+    read_at TIMESTAMP NOT NULL
+);
+
+COMMENT ON TABLE notification_broadcast_watermarks IS '사용자별 브로드캐스트 일괄 읽음 위치';
+COMMENT ON COLUMN notification_broadcast_watermarks.user_id IS '읽은 사용자 ID';
+COMMENT ON COLUMN notification_broadcast_watermarks.read_up_to_created_at IS '이 위치(생성 일시, ID)와 그 이전의 브로드캐스트는 읽음';
+COMMENT ON COLUMN notification_broadcast_watermarks.read_up_to_id IS '읽음 위치의 알림 ID';
+COMMENT ON COLUMN notification_broadcast_watermarks.read_at IS '마지막으로 일괄 읽음 처리한 일시';
@@ -0,0 +1,136 @@
+package com.example.demo.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.demo.entity.Users;
+import com.example.demo.security.CustomUserDetails;
+import com.example.demo.security.CustomUserDetailsService;
+import com.example.demo.security.JwtAuthenticationFilter;
+import com.example.demo.security.PrincipalCache;
+import com.example.demo.security.PrincipalSource;
+import com.example.demo.util.JwtKeyRing;
+import com.example.demo.util.JwtTokenProvider;
+
+import jakarta.servlet.ServletException;
+
+/**
+ * 인증된 API 요청마다 거치는 JWT 경로의 처리량을 측정합니다.
+ *
+ * - generateAccessToken / validateToken / getVerifiedToken: JwtTokenProvider 단독 비용
+ * - filterChain: JwtAuthenticationFilter를 거쳐 SecurityContext에 인증 정보가 설정되기까지의 비용
+ *
+ * verifiedCacheSize=0은 검증 캐시를 끈 상태(매 요청 HMAC 검증)입니다.
+ * UserDetailsService는 DB 없이 사용자를 만드는 스텁이므로, DATABASE 결과에는 실제 쿼리 왕복이 빠져 있습니다.
+ * mvn -Pbenchmark process-test-classes -Djmh.include=AuthenticationBenchmark 로 실행하면
+ * 결과가 target/jmh-result.json에 저장됩니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+    private static final String USERNAME = "benchmark-user";
+    private static final String ROLE = "ROLE_USER";
+
+    @Param({"0", "10000"})
+    private int verifiedCacheSize;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String accessToken;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(new JwtKeyRing(""), verifiedCacheSize);
+        ReflectionTestUtils.setField(jwtTokenProvider, "accessTokenMinutes", 30);
+        ReflectionTestUtils.setField(jwtTokenProvider, "refreshTokenDays", 7);
+        accessToken = jwtTokenProvider.generateAccessToken(USERNAME, ROLE);
+        authorization = "Bearer " + accessToken;
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtTokenProvider.generateAccessToken(USERNAME, ROLE);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public JwtTokenProvider.VerifiedToken getVerifiedToken() {
+        return jwtTokenProvider.getVerifiedToken(accessToken);
+    }
+
+    /** 인증 주체를 만드는 방식별 필터 (filterChain에만 적용되는 파라미터) */
+    @State(Scope.Benchmark)
+    public static class FilterState {
+
+        @Param({"CLAIMS", "CACHE", "DATABASE"})
+        private PrincipalSource principalSource;
+
+        private JwtAuthenticationFilter filter;
+
+        @Setup
+        public void setUp(AuthenticationBenchmark benchmark) {
+            filter = new JwtAuthenticationFilter(benchmark.jwtTokenProvider, new StubUserDetailsService(),
+                    new PrincipalCache(10000, 300), principalSource);
+        }
+    }
+
+    @Benchmark
+    public Authentication filterChain(FilterState state) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/notifications/inbox");
+        request.addHeader("Authorization", authorization);
+        state.filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    /** DB 대신 사용자를 바로 만들어 반환하는 스텁 */
+    private static final class StubUserDetailsService extends CustomUserDetailsService {
+
+        StubUserDetailsService() {
+            super(null);
+        }
+
+        @Override
+        public UserDetails loadUserByUsername(String username) {
+            return new CustomUserDetails(new Users(username, "{noop}password", ROLE));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AuthenticationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.demo.config.SecurityConfig;
+
+/**
+ * 로그인/토큰 갱신 경로의 자격 증명 처리 비용을 측정합니다.
+ *
+ * - bcryptEncode / bcryptMatches: SecurityConfig에 설정된 강도의 PasswordEncoder (회원가입, 로그인)
+ *
+ * BCrypt는 의도적으로 느린 연산이므로 op당 시간으로 보는 것이 읽기 쉽습니다.
+ * mvn -Pbenchmark process-test-classes -Djmh.include=CredentialBenchmark 로 실행하면
+ * 결과가 target/jmh-result.json에 저장됩니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CredentialBenchmark {
+
+    private static final String PASSWORD = "benchmark-password";
+
+    private final PasswordEncoder passwordEncoder = new SecurityConfig().passwordEncoder();
+    private String passwordHash;
+
+    @Setup
+    public void setUp() {
+        passwordHash = passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String bcryptEncode() {
+        return passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean bcryptMatches() {
+        return passwordEncoder.matches(PASSWORD, passwordHash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CredentialBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.demo.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.demo.sse.SseFrame;
+
+/**
+ * 알림 한 건을 N명의 SSE 클라이언트에게 쓰는 비용을 비교합니다.
+ *
+ * - perClientEvent: 클라이언트마다 SseEmitter.event()로 프레임을 만들고 StringHttpMessageConverter로 인코딩 (기존 방식)
+ * - sharedFrame: Redis 본문으로 SseFrame을 한 번 만들고 모든 클라이언트가 같은 바이트를 씀
+ *
+ * GC 프로파일러의 gc.alloc.rate.norm 값이 op(브로드캐스트 1회)당 할당량입니다.
+ * 기존 방식은 클라이언트마다 이벤트 빌더와 문자열 인코딩 버퍼를 할당하지만,
+ * sharedFrame에서 프레임 직렬화 할당은 clients와 무관하게 한 번뿐이고 남는 것은 컨버터의 헤더 처리 비용입니다.
+ * IDE에서 main을 실행하거나 테스트 클래스패스로 org.openjdk.jmh.Main을 실행합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SseBroadcastBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int clients;
+
+    private byte[] redisBody;
+    private final StringHttpMessageConverter stringConverter = new StringHttpMessageConverter(StandardCharsets.UTF_8);
+    private final ByteArrayHttpMessageConverter byteArrayConverter = new ByteArrayHttpMessageConverter();
+    private final DiscardingOutputMessage output = new DiscardingOutputMessage();
+
+    @Setup
+    public void setUp() {
+        String json = "{\"title\":\"새 알림\",\"message\":\"새로운 메시지가 도착했습니다.\",\"type\":\"info\"}";
+        redisBody = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void perClientEvent(Blackhole bh) throws IOException {
+        String msg = new String(redisBody, StandardCharsets.UTF_8);
+        for (int i = 0; i < clients; i++) {
+            Set<DataWithMediaType> items = SseEmitter.event().name("notification").data(msg).build();
+            for (DataWithMediaType item : items) {
+                stringConverter.write((String) item.getData(), item.getMediaType(), output);
+            }
+            bh.consume(items);
+        }
+    }
+
+    @Benchmark
+    public void sharedFrame(Blackhole bh) throws IOException {
+        SseFrame frame = SseFrame.ofUtf8("notification", redisBody, null);
+        for (int i = 0; i < clients; i++) {
+            for (DataWithMediaType item : frame.getItems()) {
+                byteArrayConverter.write((byte[]) item.getData(), item.getMediaType(), output);
+            }
+        }
+        bh.consume(frame);
+    }
+
+    /** 응답 본문을 버리는 출력 메시지 (실제 소켓 쓰기 비용은 측정 대상이 아님) */
+    private static final class DiscardingOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final OutputStream body = OutputStream.nullOutputStream();
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SseBroadcastBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
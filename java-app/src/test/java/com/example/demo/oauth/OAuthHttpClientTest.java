@@ -0,0 +1,139 @@
+package com.example.demo.oauth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.HttpClientErrorException;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * OAuth 제공자 엔드포인트를 흉내 내는 로컬 스텁 서버로 OAuthHttpClient의 연결 재사용, 시간 제한, 회로 차단을 확인합니다.
+ */
+class OAuthHttpClientTest {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP = new ParameterizedTypeReference<>() {};
+
+    private HttpServer server;
+    private String baseUrl;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OAuthHttpClients clients;
+    private OAuthHttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/token", exchange -> respond(exchange, 200, "{\"access_token\":\"stub-token\"}"));
+        server.createContext("/bad-code", exchange -> respond(exchange, 400, "{\"error\":\"invalid_grant\"}"));
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "{}");
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("oauth.http.stub.read-timeout-ms", "500")
+                .withProperty("oauth.http.stub.circuit.failure-threshold", "2")
+                .withProperty("oauth.http.stub.circuit.open-ms", "60000")
+                .withProperty("oauth.http.trial.circuit.failure-threshold", "1")
+                .withProperty("oauth.http.trial.circuit.open-ms", "0");
+        clients = new OAuthHttpClients(new RestTemplateBuilder(), meterRegistry, environment, 1000);
+        client = clients.get("stub");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        hits.incrementAndGet();
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Test
+    void reusesPooledConnectionAcrossCalls() {
+        for (int i = 0; i < 3; i++) {
+            Map<String, Object> body = client.exchange(baseUrl + "/token", HttpMethod.POST, HttpEntity.EMPTY, MAP);
+            assertThat(body).containsEntry("access_token", "stub-token");
+        }
+        assertThat(hits).hasValue(3);
+        assertThat(clientPorts).hasSize(1);
+    }
+
+    @Test
+    void clientErrorsDoNotOpenCircuit() {
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> client.exchange(baseUrl + "/bad-code", HttpMethod.POST, HttpEntity.EMPTY, MAP))
+                    .isInstanceOf(HttpClientErrorException.BadRequest.class);
+        }
+        assertThat(client.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void readTimeoutsOpenCircuitAndRejectWithoutCallingProvider() {
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> client.exchange(baseUrl + "/slow", HttpMethod.GET, HttpEntity.EMPTY, MAP))
+                    .isInstanceOf(OAuthProviderUnavailableException.class);
+        }
+        assertThat(client.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        int hitsBefore = hits.get();
+        assertThatThrownBy(() -> client.exchange(baseUrl + "/token", HttpMethod.POST, HttpEntity.EMPTY, MAP))
+                .isInstanceOf(OAuthProviderUnavailableException.class);
+        assertThat(hits).hasValue(hitsBefore);
+        assertThat(meterRegistry.get("oauth.http.rejected").tag("provider", "stub").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void unexpectedExceptionInHalfOpenTrialReopensCircuit() {
+        OAuthHttpClient trialClient = clients.get("trial");
+        // 연결이 거부되는 주소로 회로를 엽니다. (스텁 서버는 요청을 하나씩 처리하므로 /slow를 쓰면 뒤의 호출이 밀립니다)
+        assertThatThrownBy(() -> trialClient.exchange("http://127.0.0.1:1/token", HttpMethod.POST, HttpEntity.EMPTY, MAP))
+                .isInstanceOf(OAuthProviderUnavailableException.class);
+        assertThat(trialClient.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // open-ms가 0이므로 다음 호출이 시험 호출이 되며, 값이 없는 URI 변수로 RestClientException이 아닌 예외가 납니다.
+        assertThatThrownBy(() -> trialClient.exchange(baseUrl + "/token?code={code}", HttpMethod.POST, HttpEntity.EMPTY, MAP))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(trialClient.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // 시험 호출이 풀렸으므로 다음 시험 호출이 나가고 회로가 닫힙니다.
+        Map<String, Object> body = trialClient.exchange(baseUrl + "/token", HttpMethod.POST, HttpEntity.EMPTY, MAP);
+        assertThat(body).containsEntry("access_token", "stub-token");
+        assertThat(trialClient.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+}
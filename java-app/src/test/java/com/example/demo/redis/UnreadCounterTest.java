@@ -0,0 +1,112 @@
+package com.example.demo.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * 실제 Redis(컨테이너)에서 UnreadCounter의 계산 토큰 스크립트를 확인합니다.
+ * 계산 중의 증감이 계산 값에 더해지는지, 재계산이 동시 증감을 덮어쓰지 않는지, 만료된 토큰으로는 쓰지 않는지를 봅니다.
+ * Docker를 쓸 수 없는 환경에서는 건너뜁니다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UnreadCounterTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private static final String KEY = UnreadCounter.userKey("user1");
+    private static final String PENDING_KEY = "notification:pending:" + KEY;
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private final UnreadCounter counter = new UnreadCounter(redisTemplate, 168);
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void flush() {
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+    }
+
+    @Test
+    void deltaCommittedDuringCountIsFoldedIntoInitialValue() {
+        String token = counter.beginCount(List.of(KEY));
+        // DB 계산 중에 커밋된 알림 두 건: 카운터가 아직 없으므로 값은 바뀌지 않고 대기 필드에만 쌓입니다.
+        assertThat(counter.addIfPresent(Map.of(KEY, 2L))).isEmpty();
+
+        Map<String, Long> values = counter.initialize(token, Map.of(KEY, 5L));
+
+        assertThat(values).containsEntry(KEY, 7L);
+        assertThat(redisTemplate.opsForValue().get(KEY)).isEqualTo("7");
+        assertThat(redisTemplate.opsForHash().hasKey(PENDING_KEY, token)).isFalse();
+        assertThat(redisTemplate.getExpire(KEY)).isPositive();
+    }
+
+    @Test
+    void initializeKeepsCounterCreatedByAnotherRequest() {
+        String first = counter.beginCount(List.of(KEY));
+        String second = counter.beginCount(List.of(KEY));
+        counter.initialize(first, Map.of(KEY, 3L));
+
+        assertThat(counter.initialize(second, Map.of(KEY, 9L))).containsEntry(KEY, 3L);
+        assertThat(redisTemplate.opsForValue().get(KEY)).isEqualTo("3");
+    }
+
+    @Test
+    void reconcileDoesNotOverwriteConcurrentIncrement() {
+        counter.initialize(counter.beginCount(List.of(KEY)), Map.of(KEY, 3L));
+
+        String token = counter.beginCount(List.of(KEY));
+        // 재계산의 DB 조회가 끝난 뒤 커밋된 알림 한 건
+        assertThat(counter.addIfPresent(Map.of(KEY, 1L))).containsEntry(KEY, 4L);
+        counter.reconcile(token, Map.of(KEY, 3L));
+
+        assertThat(redisTemplate.opsForValue().get(KEY)).isEqualTo("4");
+        assertThat(redisTemplate.opsForHash().hasKey(PENDING_KEY, token)).isFalse();
+    }
+
+    @Test
+    void expiredTokenLeavesCounterUnwritten() {
+        String token = counter.beginCount(List.of(KEY));
+        // 계산이 대기 시간을 넘겨 대기 필드가 만료된 상태
+        redisTemplate.delete(PENDING_KEY);
+
+        assertThat(counter.initialize(token, Map.of(KEY, 5L))).isEmpty();
+        assertThat(redisTemplate.hasKey(KEY)).isFalse();
+
+        redisTemplate.opsForValue().set(KEY, "2");
+        String reconcileToken = counter.beginCount(List.of(KEY));
+        redisTemplate.delete(PENDING_KEY);
+        counter.reconcile(reconcileToken, Map.of(KEY, 8L));
+
+        assertThat(redisTemplate.opsForValue().get(KEY)).isEqualTo("2");
+    }
+}
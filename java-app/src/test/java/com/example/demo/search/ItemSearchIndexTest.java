@@ -0,0 +1,110 @@
+package com.example.demo.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.dto.ItemSuggestionDto;
+import com.example.demo.entity.Item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * ItemSearchIndex의 접두어 검색, 여러 단어 교집합, 결과 수/단어 길이 제한, 색인 추가와 제거를 확인합니다.
+ */
+class ItemSearchIndexTest {
+
+    // 아이템당 단어 8개, 단어 길이 10자, 최소 검색 단어 길이 2자
+    private final ItemSearchIndex index = new ItemSearchIndex(null, new SimpleMeterRegistry(), true, 8, 10, 2, 100);
+
+    @Test
+    void findsItemsByWordPrefixInNameOrDescription() {
+        put(1L, "Apple Juice", "fresh pressed");
+        put(2L, "Apricot Jam", "sweet spread");
+        put(3L, "Banana", "apple flavored milk");
+
+        assertThat(ids("app")).containsExactly(1L, 3L);
+        assertThat(ids("ap")).containsExactly(1L, 2L, 3L);
+        assertThat(ids("spr")).containsExactly(2L);
+        assertThat(ids("cherry")).isEmpty();
+    }
+
+    @Test
+    void everyWordMustMatchAndNameMatchesRankFirst() {
+        put(1L, "Apple Juice", "fresh pressed");
+        put(2L, "Apple Pie", "baked with juice");
+        put(3L, "Orange Juice", "fresh");
+        put(4L, "Juicer", "for apple and orange");
+
+        // 이름에서 두 단어가 모두 일치한 1이 먼저, 이어서 이름이 짧은 순(4, 2)
+        assertThat(ids("apple ju")).containsExactly(1L, 4L, 2L);
+        assertThat(ids("juice fresh")).containsExactly(1L, 3L);
+        assertThat(ids("apple orange")).containsExactly(4L);
+        assertThat(ids("apple kiwi")).isEmpty();
+    }
+
+    @Test
+    void returnsOnlyTheTopLimitSuggestions() {
+        for (long id = 1; id <= 20; id++) {
+            put(id, "Tea " + "x".repeat((int) (20 - id) % 7) + id, null);
+        }
+
+        List<Long> top = ids("tea", 5);
+        List<Long> all = ids("tea", 100);
+
+        assertThat(all).hasSize(20);
+        assertThat(top).containsExactlyElementsOf(all.subList(0, 5));
+    }
+
+    @Test
+    void truncatesLongWordsAndIgnoresTooShortQueries() {
+        put(1L, "Supercalifragilistic", null);
+        put(2L, "A B", null);
+
+        // 색인과 검색어 모두 10자에서 자르므로 긴 검색어도 찾습니다.
+        assertThat(ids("supercalifragilisticexpialidocious")).containsExactly(1L);
+        // 가장 긴 단어가 2자보다 짧으면 찾지 않습니다.
+        assertThat(ids("a")).isEmpty();
+        assertThat(ids("a b")).isEmpty();
+        // 짧은 단어는 긴 단어로 찾은 후보를 거르는 데에만 씁니다.
+        assertThat(ids("super s")).containsExactly(1L);
+        assertThat(ids("super x")).isEmpty();
+    }
+
+    @Test
+    void putReplacesAndRemoveUnindexes() {
+        put(1L, "Green Tea", "hot");
+        put(2L, "Green Apple", null);
+
+        put(1L, "Black Coffee", "hot");
+
+        assertThat(ids("green")).containsExactly(2L);
+        assertThat(ids("coffee")).containsExactly(1L);
+        assertThat(ids("hot")).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(2);
+
+        index.remove(1L);
+        index.remove(99L);
+
+        assertThat(ids("coffee")).isEmpty();
+        assertThat(ids("hot")).isEmpty();
+        assertThat(ids("green")).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    private void put(Long id, String name, String description) {
+        Item item = new Item(name, description);
+        item.setId(id);
+        index.put(item);
+    }
+
+    private List<Long> ids(String text) {
+        return ids(text, 10);
+    }
+
+    private List<Long> ids(String text, int limit) {
+        return index.suggest(text, limit).stream().map(ItemSuggestionDto::getId).toList();
+    }
+}
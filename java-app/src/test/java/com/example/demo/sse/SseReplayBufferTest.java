@@ -0,0 +1,118 @@
+package com.example.demo.sse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 링 버퍼의 재전송 구간 계산과, 잠금 밖에서 전달된 이벤트를 클라이언트 대기열이 순번으로 정렬/중복 제거하는지 확인합니다.
+ */
+class SseReplayBufferTest {
+
+    private final SseReplayBuffer buffer = new SseReplayBuffer(4);
+
+    private SseFrame append(String recipientId, List<SseFrame> delivered) {
+        return buffer.append("notification", "{}".getBytes(StandardCharsets.UTF_8), recipientId, delivered::add);
+    }
+
+    private static List<Long> drain(SseConnection connection) {
+        List<Long> sequences = new ArrayList<>();
+        for (SseFrame frame; (frame = connection.poll()) != null; ) {
+            sequences.add(frame.getSequence());
+        }
+        return sequences;
+    }
+
+    private static SseConnection connection() {
+        return new SseConnection("c1", "alice", null);
+    }
+
+    @Test
+    void outOfOrderDeliveriesAreQueuedInSequenceOrder() {
+        List<SseFrame> delivered = new ArrayList<>();
+        SseFrame first = append(null, delivered);
+        SseFrame second = append(null, delivered);
+        SseFrame third = append(null, delivered);
+        SseConnection connection = connection();
+
+        // 동시에 append한 스레드들이 잠금 밖에서 역순으로 전달한 경우
+        connection.offer(third, 10, SseOverflowPolicy.DROP_OLDEST);
+        connection.offer(SseFrame.of("unread-count", "{}", "unread-count:user"), 10, SseOverflowPolicy.COALESCE);
+        connection.offer(first, 10, SseOverflowPolicy.DROP_OLDEST);
+        connection.offer(second, 10, SseOverflowPolicy.DROP_OLDEST);
+
+        List<Long> sequences = drain(connection);
+        assertThat(sequences.stream().filter(sequence -> sequence > 0))
+                .containsExactly(first.getSequence(), second.getSequence(), third.getSequence());
+    }
+
+    @Test
+    void liveDeliveryRacingReplayIsNotQueuedTwice() {
+        List<SseFrame> delivered = new ArrayList<>();
+        String resumeId = buffer.currentEventId();
+        SseConnection connection = connection();
+
+        // 저장은 끝났지만 전달은 아직인 이벤트가 재전송 구간에 포함된 경우
+        SseFrame racing = append("alice", new ArrayList<>());
+        List<SseFrame> replay = buffer.framesAfter(resumeId, "alice");
+        assertThat(replay).containsExactly(racing);
+        connection.prependReplay(replay);
+
+        assertThat(connection.offer(racing, 10, SseOverflowPolicy.DROP_OLDEST)).isEqualTo(SseConnection.OfferResult.DUPLICATE);
+        SseFrame next = append("alice", delivered);
+        assertThat(connection.offer(next, 10, SseOverflowPolicy.DROP_OLDEST)).isEqualTo(SseConnection.OfferResult.ACCEPTED);
+        assertThat(drain(connection)).containsExactly(racing.getSequence(), next.getSequence());
+    }
+
+    @Test
+    void replayedFramesAreRemovedFromPendingLiveFrames() {
+        String resumeId = buffer.currentEventId();
+        SseConnection connection = connection();
+        // 등록 직후 실시간으로 먼저 들어온 이벤트가 재전송 구간과 겹치는 경우
+        SseFrame live = append("alice", new ArrayList<>());
+        connection.offer(live, 10, SseOverflowPolicy.DROP_OLDEST);
+
+        connection.prependReplay(buffer.framesAfter(resumeId, "alice"));
+
+        assertThat(drain(connection)).containsExactly(live.getSequence());
+    }
+
+    @Test
+    void framesAfterReturnsNullWhenGapCannotBeFilled() {
+        List<SseFrame> delivered = new ArrayList<>();
+        String start = buffer.currentEventId();
+        String afterThird = null;
+        for (int i = 0; i < 6; i++) {
+            append(null, delivered);
+            if (i == 2) {
+                afterThird = buffer.currentEventId();
+            }
+        }
+
+        // 다른 epoch(다른 노드, 재시작), 형식 오류, 아직 없는 순번, 버퍼에서 밀려난 구간
+        assertThat(buffer.framesAfter("otherepoch-1", null)).isNull();
+        assertThat(buffer.framesAfter("garbage", null)).isNull();
+        String epoch = start.substring(0, start.lastIndexOf('-'));
+        assertThat(buffer.framesAfter(epoch + "-99", null)).isNull();
+        assertThat(buffer.framesAfter(start, null)).isNull();
+        // 버퍼에 남아 있는 구간은 재전송할 수 있습니다.
+        assertThat(buffer.framesAfter(afterThird, null)).containsExactlyElementsOf(delivered.subList(3, 6));
+        assertThat(buffer.framesAfter(null, null)).isEmpty();
+    }
+
+    @Test
+    void framesAfterReturnsOnlyBroadcastsAndTheUsersOwnEvents() {
+        String start = buffer.currentEventId();
+        List<SseFrame> delivered = new ArrayList<>();
+        SseFrame broadcast = append(null, delivered);
+        SseFrame forAlice = append("alice", delivered);
+        append("bob", delivered);
+
+        assertThat(buffer.framesAfter(start, "alice")).containsExactly(broadcast, forAlice);
+        assertThat(buffer.framesAfter(start, null)).containsExactly(broadcast);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.demo.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.security.Key;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+
+/**
+ * jwt.keys 설정 해석, 활성화 시각에 따른 서명 키 선택/교체, kid 기반 검증 키 조회를 확인합니다.
+ */
+class JwtKeyRingTest {
+
+    private static final String SECRET_A = secret(1);
+    private static final String SECRET_B = secret(2);
+
+    private static String secret(int fill) {
+        byte[] bytes = new byte[32];
+        Arrays.fill(bytes, (byte) fill);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    @Test
+    void parsesKeysWithoutActivationAsActiveImmediately() {
+        JwtKeyRing ring = new JwtKeyRing("a:" + SECRET_A);
+
+        assertThat(ring.current().id()).isEqualTo("a");
+        assertThat(ring.current().activeFrom()).isEqualTo(Instant.EPOCH);
+        assertThat(ring.current().key().getEncoded()).isEqualTo(Base64.getDecoder().decode(SECRET_A));
+    }
+
+    @Test
+    void parsesActivationInstant() {
+        Instant activation = Instant.parse("2026-12-01T00:00:00Z");
+        JwtKeyRing ring = new JwtKeyRing("a:" + SECRET_A + ", b:" + SECRET_B + "@" + activation);
+
+        assertThat(ring.select(activation).id()).isEqualTo("b");
+        assertThat(ring.select(activation).activeFrom()).isEqualTo(activation);
+    }
+
+    @Test
+    void rejectsMalformedEntries() {
+        assertThatThrownBy(() -> new JwtKeyRing(SECRET_A)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new JwtKeyRing("a:" + SECRET_A + "@tomorrow")).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void selectSwitchesExactlyAtActivationInstant() {
+        Instant activation = Instant.parse("2026-12-01T00:00:00Z");
+        JwtKeyRing ring = new JwtKeyRing("a:" + SECRET_A + ",b:" + SECRET_B + "@" + activation);
+
+        assertThat(ring.select(activation.minusMillis(1)).id()).isEqualTo("a");
+        assertThat(ring.select(activation).id()).isEqualTo("b");
+        assertThat(ring.select(activation.plus(1, ChronoUnit.DAYS)).id()).isEqualTo("b");
+    }
+
+    @Test
+    void selectFallsBackToEarliestKeyWhenNoneIsActiveYet() {
+        Instant future = Instant.now().plus(1, ChronoUnit.DAYS);
+        JwtKeyRing ring = new JwtKeyRing("b:" + SECRET_B + "@" + future.plusSeconds(60) + ",a:" + SECRET_A + "@" + future);
+
+        assertThat(ring.current().id()).isEqualTo("a");
+    }
+
+    @Test
+    void rotateSwitchesToKeyOnceItsActivationPasses() throws InterruptedException {
+        Instant activation = Instant.now().plusMillis(300);
+        JwtKeyRing ring = new JwtKeyRing("a:" + SECRET_A + ",b:" + SECRET_B + "@" + activation);
+
+        ring.rotate();
+        assertThat(ring.current().id()).isEqualTo("a");
+
+        Thread.sleep(Math.max(0, activation.toEpochMilli() - System.currentTimeMillis()) + 50);
+        ring.rotate();
+        assertThat(ring.current().id()).isEqualTo("b");
+    }
+
+    @Test
+    void resolvesVerificationKeyByKid() {
+        JwtKeyRing ring = new JwtKeyRing("a:" + SECRET_A + ",b:" + SECRET_B + "@" + Instant.now().plus(1, ChronoUnit.DAYS));
+        // 아직 서명에 쓰이지 않는 키로 서명된 토큰도 kid로 찾아 검증합니다.
+        String token = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, "b")
+                .setSubject("user")
+                .signWith(Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET_B)))
+                .compact();
+
+        String subject = Jwts.parserBuilder().setSigningKeyResolver(ring).build()
+                .parseClaimsJws(token).getBody().getSubject();
+
+        assertThat(subject).isEqualTo("user");
+    }
+
+    @Test
+    void rejectsTokenSignedWithUnknownKid() {
+        JwtKeyRing ring = new JwtKeyRing("a:" + SECRET_A);
+        Key unknown = Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret(3)));
+        String token = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, "retired")
+                .setSubject("user")
+                .signWith(unknown)
+                .compact();
+
+        assertThatThrownBy(() -> Jwts.parserBuilder().setSigningKeyResolver(ring).build().parseClaimsJws(token))
+                .isInstanceOf(SignatureException.class)
+                .hasMessageContaining("retired");
+    }
+}
@@ -6,6 +6,11 @@ class NotificationService {
     this.notificationContainer = null;
     this.baseUrl = import.meta.env.VITE_API_URL || 'http://localhost:8081/api';
     this.notificationListeners = [];
+    this.resetListeners = [];
+    this.unreadCountListeners = [];
+    this.readListeners = [];
+    // 마지막으로 받은 이벤트 ID (재연결 시 놓친 이벤트만 재전송받기 위해 사용)
+    this.lastEventId = null;
     this.initContainer();
   }
 
@@ -73,7 +78,9 @@ class NotificationService {
       return;
     }
 
-    const url = `${this.baseUrl}/notifications/subscribe`;
+    const url = this.lastEventId
+      ? `${this.baseUrl}/notifications/subscribe?lastEventId=${encodeURIComponent(this.lastEventId)}`
+      : `${this.baseUrl}/notifications/subscribe`;
     console.log('🔌 SSE 연결을 시도합니다. URL:', url);
     
     try {
@@ -96,14 +103,21 @@ class NotificationService {
   setupEventListeners() {
     if (!this.eventSource.value) return;
     
-    this.eventSource.value.addEventListener('open', this.handleOpen, { once: true });
+    this.eventSource.value.addEventListener('open', this.handleOpen);
     this.eventSource.value.addEventListener('message', this.handleMessage);
     this.eventSource.value.addEventListener('notification', this.handleNotification);
+    this.eventSource.value.addEventListener('reset', this.handleReset);
+    this.eventSource.value.addEventListener('unread-count', this.handleUnreadCount);
+    this.eventSource.value.addEventListener('notifications-read', this.handleRead);
     this.eventSource.value.addEventListener('error', this.handleError);
   }
 
+  // 서버의 open 이벤트에는 재개 지점이 ID로 붙어 있습니다. (브라우저의 연결 open 이벤트에는 없음)
   handleOpen = (event) => {
     console.log('🎉 SSE 연결이 열렸습니다.', event);
+    if (event.lastEventId) {
+      this.lastEventId = event.lastEventId;
+    }
   };
 
   handleMessage = (event) => {
@@ -112,6 +126,9 @@ class NotificationService {
 
   handleNotification = (event) => {
     console.log('🔔 알림 이벤트 수신:', event);
+    if (event.lastEventId) {
+      this.lastEventId = event.lastEventId;
+    }
     try {
       let data = event.data;
       if (data) {
@@ -129,6 +146,36 @@ class NotificationService {
     }
   };
 
+  // 서버가 놓친 이벤트를 재전송할 수 없을 때 보내는 이벤트 (목록을 다시 조회해야 함)
+  handleReset = () => {
+    console.log('♻️ 재전송 불가, 알림 목록을 다시 조회합니다.');
+    this.lastEventId = null;
+    this.resetListeners.forEach(callback => callback());
+  };
+
+  // 읽지 않은 알림 수 변경 이벤트 ({"user": n, "broadcast": m, "broadcastTotal": t} 중 바뀐 값, 새 브로드캐스트는 {"broadcastTotal": t})
+  handleUnreadCount = (event) => {
+    try {
+      const data = JSON.parse(event.data);
+      this.unreadCountListeners.forEach(callback => callback(data));
+    } catch (error) {
+      console.error('읽지 않은 알림 수 처리 중 오류 발생:', error);
+    }
+  };
+
+  // 다른 탭/기기에서 읽음 처리한 알림 ({"ids": [...]} 또는 {"all": true})
+  handleRead = (event) => {
+    if (event.lastEventId) {
+      this.lastEventId = event.lastEventId;
+    }
+    try {
+      const data = JSON.parse(event.data);
+      this.readListeners.forEach(callback => callback(data));
+    } catch (error) {
+      console.error('읽음 처리 이벤트 처리 중 오류 발생:', error);
+    }
+  };
+
   handleError = (event) => {
     console.error('❌ SSE 연결 오류 발생:', event);
     if (this.eventSource.value) {
@@ -155,6 +202,18 @@ class NotificationService {
   onNotification(callback) {
     this.notificationListeners.push(callback);
   }
+
+  onReset(callback) {
+    this.resetListeners.push(callback);
+  }
+
+  onUnreadCount(callback) {
+    this.unreadCountListeners.push(callback);
+  }
+
+  onRead(callback) {
+    this.readListeners.push(callback);
+  }
 }
 
 export const notificationService = new NotificationService();